@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+#
+# Runs the JMeter plan once with platform threads and once with virtual threads
+# in flightservice and bookingservice, then prints a side-by-side summary.
+#
+# Usage: JmeterScripts/compare-thread-modes.sh [plan.jmx] [warmup-seconds]
+#
+# Needs docker compose and jmeter on PATH. The plan's host/port must reach the
+# services (through the gateway when using docker compose).
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+PLAN="${1:-$ROOT/JmeterScripts/jmeterScript.jmx}"
+WARMUP="${2:-60}"
+OUT="$ROOT/JmeterScripts/results/$(date +%Y%m%d-%H%M%S)"
+
+mkdir -p "$OUT"
+
+run_mode() {
+    local mode="$1" virtual="$2"
+
+    echo "==> $mode threads (spring.threads.virtual.enabled=$virtual)"
+    (cd "$ROOT" && VIRTUAL_THREADS="$virtual" \
+        docker compose up -d --build --force-recreate flightservice bookingservice)
+
+    echo "    waiting ${WARMUP}s for registration and JIT warm-up"
+    sleep "$WARMUP"
+
+    jmeter -n -t "$PLAN" \
+        -l "$OUT/$mode.jtl" \
+        -j "$OUT/$mode.log" \
+        -Jjmeter.save.saveservice.output_format=csv \
+        -e -o "$OUT/$mode-report" > /dev/null
+
+    # Pinning diagnostics are only logged in virtual mode.
+    if [ "$virtual" = "true" ]; then
+        for svc in flightservice bookingservice; do
+            docker logs "$svc" 2>&1 | grep -c "Virtual thread pinned" \
+                | xargs printf "    %s pinned events: %s\n" "$svc"
+        done
+    fi
+}
+
+# Columns of the default CSV JTL: timeStamp,elapsed,label,responseCode,...,success,...
+summarize() {
+    local mode="$1"
+    sort -t, -k2,2n <(tail -n +2 "$OUT/$mode.jtl") | awk -F, -v mode="$mode" '
+        { n++; sum += $2; lat[n] = $2; if ($8 != "true") err++
+          if (first == "" || $1 < first) first = $1
+          if ($1 + $2 > last) last = $1 + $2 }
+        END {
+            secs = (last - first) / 1000; if (secs <= 0) secs = 1
+            p95 = int(n * 0.95); if (p95 < 1) p95 = 1
+            p99 = int(n * 0.99); if (p99 < 1) p99 = 1
+            printf "%-9s %8d %10.1f %9.1f %8d %8d %7.2f%%\n", mode, n, n / secs, sum / n,
+                lat[p95], lat[p99], 100 * err / n
+        }'
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo
+printf "%-9s %8s %10s %9s %8s %8s %8s\n" mode samples "req/s" "avg ms" "p95 ms" "p99 ms" errors
+summarize platform
+summarize virtual
+echo
+echo "Full HTML reports: $OUT"
@@ -0,0 +1,284 @@
+package com.quiz.api_gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quiz.api_gateway.security.RoutePolicy;
+import com.quiz.api_gateway.security.RoutePolicyMatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived cache for public flight search responses, keyed on the source,
+ * destination and date query parameters only, so parameter order, encoding and
+ * unrelated parameters do not split entries. Concurrent misses for one key share
+ * a single upstream call, and responses carry an ETag that If-None-Match can
+ * answer with 304.
+ * <p>
+ * Ordered before {@link NettyWriteResponseFilter} so the upstream body passes
+ * through the capturing response on its way out.
+ */
+@Component
+public class SearchResponseCacheFilter implements GlobalFilter, Ordered {
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    record CachedSearch(MediaType contentType, byte[] body, String etag) {
+    }
+
+    @Value("${gateway.search-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${gateway.search-cache.path:/flights/search}")
+    private String path = "/flights/search";
+
+    // A follower waiting longer than this makes its own upstream call.
+    @Value("${gateway.search-cache.coalesce-timeout-ms:5000}")
+    private long coalesceTimeoutMs = 5000;
+
+    // Larger bodies are still served, just not kept.
+    @Value("${gateway.search-cache.max-body-bytes:1048576}")
+    private int maxBodyBytes = 1048576;
+
+    private final RoutePolicyMatcher routePolicies;
+    private final Cache<String, CachedSearch> cache;
+    private final ConcurrentMap<String, Sinks.One<CachedSearch>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter notModified;
+    private final Counter savedUpstreamCalls;
+
+    public SearchResponseCacheFilter(
+            RoutePolicyMatcher routePolicies,
+            MeterRegistry registry,
+            @Value("${gateway.search-cache.ttl-seconds:10}") long ttlSeconds,
+            @Value("${gateway.search-cache.maximum-size:10000}") long maximumSize
+    ) {
+        this.routePolicies = routePolicies;
+
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "gateway.search.cache");
+
+        this.hits = requests(registry, "hit");
+        this.misses = requests(registry, "miss");
+        this.coalesced = requests(registry, "coalesced");
+        this.notModified = Counter.builder("gateway.search.not-modified").register(registry);
+        this.savedUpstreamCalls = Counter.builder("gateway.search.upstream.saved").register(registry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.search.requests")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        String key = cacheKey(exchange.getRequest());
+        if (key == null) {
+            return chain.filter(exchange);
+        }
+
+        CachedSearch cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            savedUpstreamCalls.increment();
+            return write(exchange, cached, "HIT");
+        }
+
+        Sinks.One<CachedSearch> sink = Sinks.one();
+        Sinks.One<CachedSearch> leader = inFlight.putIfAbsent(key, sink);
+
+        if (leader != null) {
+            return leader.asMono()
+                    .timeout(Duration.ofMillis(coalesceTimeoutMs), Mono.empty())
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> {
+                        if (shared.isEmpty()) {
+                            // Leader's response was not cacheable
+                            return chain.filter(exchange);
+                        }
+                        coalesced.increment();
+                        savedUpstreamCalls.increment();
+                        return write(exchange, shared.get(), "COALESCED");
+                    });
+        }
+
+        // A leader may have stored the entry between the lookup and putIfAbsent
+        cached = cache.getIfPresent(key);
+        if (cached != null) {
+            inFlight.remove(key, sink);
+            sink.tryEmitValue(cached);
+            hits.increment();
+            savedUpstreamCalls.increment();
+            return write(exchange, cached, "HIT");
+        }
+
+        misses.increment();
+        CapturingResponse response = new CapturingResponse(exchange, key, sink);
+
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    // No-ops when the body was already captured
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    // Null when the request is not a cacheable search.
+    private String cacheKey(ServerHttpRequest request) {
+        if (!enabled
+                || request.getMethod() != HttpMethod.GET
+                || !path.equals(request.getURI().getPath())
+                || routePolicies.match(path) != RoutePolicy.PUBLIC) {
+            return null;
+        }
+
+        MultiValueMap<String, String> params = request.getQueryParams();
+        String source = params.getFirst("source");
+        String destination = params.getFirst("destination");
+        String date = params.getFirst("date");
+
+        if (source == null || destination == null || date == null) {
+            return null;
+        }
+        // flightservice matches these exactly, so no case folding here
+        return source + '|' + destination + '|' + date;
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedSearch entry, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(entry.etag());
+        headers.set(CACHE_HEADER, cacheStatus);
+
+        if (matchesEtag(exchange.getRequest(), entry.etag())) {
+            notModified.increment();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        if (entry.contentType() != null) {
+            headers.setContentType(entry.contentType());
+        }
+        headers.setContentLength(entry.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(entry.body())));
+    }
+
+    static boolean matchesEtag(ServerHttpRequest request, String etag) {
+        for (String candidate : request.getHeaders().getIfNoneMatch()) {
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(Arrays.copyOf(digest, 16)) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Buffers a 200 body once, stores it, hands it to waiting followers and then
+    // writes it (or a 304) to the client that triggered the upstream call.
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final Sinks.One<CachedSearch> sink;
+
+        private CapturingResponse(ServerWebExchange exchange, String key, Sinks.One<CachedSearch> sink) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(body)
+                    .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                    .flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+
+                        CachedSearch entry = new CachedSearch(getHeaders().getContentType(), bytes, etag(bytes));
+                        if (bytes.length <= maxBodyBytes) {
+                            cache.put(key, entry);
+                        }
+                        inFlight.remove(key, sink);
+                        sink.tryEmitValue(entry);
+
+                        getHeaders().setETag(entry.etag());
+                        getHeaders().set(CACHE_HEADER, "MISS");
+
+                        if (matchesEtag(exchange.getRequest(), entry.etag())) {
+                            notModified.increment();
+                            setStatusCode(HttpStatus.NOT_MODIFIED);
+                            getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                            getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+                            return getDelegate().setComplete();
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.quiz.api_gateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * auth-service's RSA public keys, by kid. Tokens are verified against this
+ * in-memory copy; the key set is fetched again in the background every
+ * refresh-seconds, and on demand when a token names a kid not seen yet (a freshly
+ * rotated key), at most once per min-refetch-seconds.
+ */
+@Component
+public class JwksKeyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyStore.class);
+
+    // Host part is the auth-service id in Eureka.
+    @Value("${jwt.jwks-uri:http://auth-service/auth/.well-known/jwks.json}")
+    private String jwksUri;
+
+    @Value("${jwt.jwks.refresh-seconds:300}")
+    private long refreshSeconds = 300;
+
+    @Value("${jwt.jwks.min-refetch-seconds:30}")
+    private long minRefetchSeconds = 30;
+
+    private final WebClient webClient;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long fetchedAtNanos;
+    private final AtomicReference<Mono<Void>> inFlight = new AtomicReference<>();
+
+    public JwksKeyStore(LoadBalancedExchangeFilterFunction loadBalancer) {
+        this.webClient = WebClient.builder().filter(loadBalancer).build();
+    }
+
+    /**
+     * @return the key, or null if the kid is unknown
+     */
+    public PublicKey get(String kid) {
+        if (System.nanoTime() - fetchedAtNanos > TimeUnit.SECONDS.toNanos(refreshSeconds)) {
+            refresh().subscribe();
+        }
+        return kid == null ? null : keys.get(kid);
+    }
+
+    // Completes once a fetch is done, or at once if the last one is too recent.
+    public Mono<Void> refreshForUnknownKid() {
+        if (System.nanoTime() - fetchedAtNanos < TimeUnit.SECONDS.toNanos(minRefetchSeconds)) {
+            return Mono.empty();
+        }
+        return refresh();
+    }
+
+    // Concurrent callers share one request.
+    private Mono<Void> refresh() {
+        Mono<Void> running = inFlight.get();
+        if (running != null) {
+            return running;
+        }
+
+        Mono<Void> fetch = webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(Duration.ofSeconds(5))
+                .doOnNext(body -> {
+                    keys = parse(body);
+                    log.info("Loaded {} signing keys from {}", keys.size(), jwksUri);
+                })
+                .onErrorResume(e -> {
+                    log.warn("Could not load signing keys from {}: {}", jwksUri, e.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> {
+                    // Failures count too, so an unreachable auth-service is not hammered.
+                    fetchedAtNanos = System.nanoTime();
+                    inFlight.set(null);
+                })
+                .then()
+                .cache();
+
+        if (!inFlight.compareAndSet(null, fetch)) {
+            return inFlight.get() != null ? inFlight.get() : Mono.empty();
+        }
+        return fetch;
+    }
+
+    static Map<String, PublicKey> parse(JsonNode jwks) {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        JsonNode keys = jwks == null ? null : jwks.get("keys");
+        if (keys == null || !keys.isArray()) {
+            return parsed;
+        }
+
+        for (JsonNode jwk : keys) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            try {
+                RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                        unsigned(jwk.path("n").asText()),
+                        unsigned(jwk.path("e").asText()));
+                parsed.put(jwk.get("kid").asText(),
+                        KeyFactory.getInstance("RSA").generatePublic(spec));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Skipping unreadable JWK {}: {}", jwk.get("kid").asText(), e.getMessage());
+            }
+        }
+        return parsed;
+    }
+
+    private static BigInteger unsigned(String base64Url) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(base64Url));
+    }
+}
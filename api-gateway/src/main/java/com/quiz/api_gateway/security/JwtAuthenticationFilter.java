@@ -1,9 +1,22 @@
 package com.quiz.api_gateway.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -12,19 +25,74 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtAuthenticationFilter
         extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
-    @Value("${jwt.secret}")
+    // HS256 tokens are accepted only while this is set; RS256 tokens are checked
+    // against auth-service's JWKS.
+    @Value("${jwt.secret:}")
     private String secret;
 
+    @Value("${jwt.cache.maximum-size:10000}")
+    private long cacheMaximumSize;
+
+    // Upper bound for tokens without an exp claim.
+    @Value("${jwt.cache.max-ttl-seconds:600}")
+    private long cacheMaxTtlSeconds;
+
+    private static final String USER_EMAIL = "X-User-Email";
+    private static final String USER_ROLES = "X-User-Roles";
+
+    private final MeterRegistry meterRegistry;
+    private final JwksKeyStore keyStore;
+    private final RoutePolicyMatcher routePolicies;
+
+    private JwtParser parser;
+
+    // Keyed by SHA-256 of the token so raw tokens are not kept in memory.
+    private Cache<String, VerifiedToken> verifiedTokens;
+
     public static class Config {}
 
-    public JwtAuthenticationFilter() {
+    public JwtAuthenticationFilter(
+            MeterRegistry meterRegistry,
+            JwksKeyStore keyStore,
+            RoutePolicyMatcher routePolicies
+    ) {
         super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.keyStore = keyStore;
+        this.routePolicies = routePolicies;
+    }
+
+    @PostConstruct
+    void init() {
+        Key hmacKey = secret == null || secret.isEmpty()
+                ? null
+                : Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeyResolver(hmacKey, keyStore))
+                .build();
+
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new TokenExpiry(TimeUnit.SECONDS.toNanos(cacheMaxTtlSeconds)))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "gateway.jwt.verified");
     }
 
     @Override
@@ -37,9 +105,21 @@ public class JwtAuthenticationFilter
                 return chain.filter(exchange);
             }
 
-            // Public routes
-            if (isPublicRoute(exchange)) {
-                return chain.filter(exchange);
+            String path = exchange.getRequest().getURI().getPath();
+
+            if (RoutePolicyMatcher.hasDotSegment(path)) {
+                return onError(exchange, HttpStatus.BAD_REQUEST);
+            }
+
+            RoutePolicy policy = routePolicies.match(path);
+
+            // Downstream services trust these calls without a user token
+            if (policy == RoutePolicy.INTERNAL) {
+                return onError(exchange, HttpStatus.FORBIDDEN);
+            }
+
+            if (policy == RoutePolicy.PUBLIC) {
+                return chain.filter(stripUserHeaders(exchange));
             }
 
             String token = getAuthHeader(exchange);
@@ -48,33 +128,111 @@ public class JwtAuthenticationFilter
                 return onError(exchange, HttpStatus.UNAUTHORIZED);
             }
 
+            VerifiedToken verified;
             try {
-            	Claims claims = Jwts.parser()
-            		    .setSigningKey(secret.getBytes())
-            		    .parseClaimsJws(token)
-            		    .getBody();
-
-            		String email = claims.getSubject();
-            		List<String> roles = claims.get("roles", List.class);
-
-            		// forward headers
-            		ServerWebExchange mutatedExchange = exchange.mutate()
-            		    .request(
-            		        exchange.getRequest().mutate()
-            		            .header("X-User-Email", email)
-            		            .header("X-User-Roles", String.join(",", roles))
-            		            .build()
-            		    )
-            		    .build();
-
-            		return chain.filter(mutatedExchange);
-
-            } catch (Exception e) {
-                return onError(exchange, HttpStatus.UNAUTHORIZED);
+                verified = verify(token);
+            } catch (UnknownKeyIdException e) {
+                // Probably signed with a key rotated in since the last JWKS fetch
+                return keyStore.refreshForUnknownKid()
+                        .then(Mono.defer(() -> forward(exchange, chain, policy, verifyQuietly(token))));
             }
+
+            return forward(exchange, chain, policy, verified);
         };
     }
 
+    private Mono<Void> forward(
+            ServerWebExchange exchange,
+            GatewayFilterChain chain,
+            RoutePolicy policy,
+            VerifiedToken verified
+    ) {
+
+        if (verified == null) {
+            return onError(exchange, HttpStatus.UNAUTHORIZED);
+        }
+
+        // Rejected here rather than after a hop to the owning service
+        if (policy == RoutePolicy.ADMIN && !verified.admin) {
+            return onError(exchange, HttpStatus.FORBIDDEN);
+        }
+
+        // One request copy per call; set() also replaces any client-sent values
+        ServerWebExchange mutatedExchange = exchange.mutate()
+                .request(exchange.getRequest().mutate()
+                        .headers(headers -> {
+                            headers.set(USER_EMAIL, verified.email);
+                            headers.set(USER_ROLES, verified.roles);
+                        })
+                        .build())
+                .build();
+
+        return chain.filter(mutatedExchange);
+    }
+
+    // Downstream services trust these headers, so a client must not be able to send them.
+    private static ServerWebExchange stripUserHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        if (!headers.containsKey(USER_EMAIL) && !headers.containsKey(USER_ROLES)) {
+            return exchange;
+        }
+        return exchange.mutate()
+                .request(exchange.getRequest().mutate()
+                        .headers(h -> {
+                            h.remove(USER_EMAIL);
+                            h.remove(USER_ROLES);
+                        })
+                        .build())
+                .build();
+    }
+
+    private VerifiedToken verifyQuietly(String token) {
+        try {
+            return verify(token);
+        } catch (UnknownKeyIdException e) {
+            return null;
+        }
+    }
+
+    private VerifiedToken verify(String token) {
+        String key = hash(token);
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+
+            List<?> roles = claims.get("roles", List.class);
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(),
+                    roles.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                    roles.contains("ROLE_ADMIN"),
+                    claims.getExpiration()
+            );
+
+            verifiedTokens.put(key, verified);
+            return verified;
+
+        } catch (UnknownKeyIdException e) {
+            throw e;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private String getAuthHeader(ServerWebExchange exchange) {
         String authHeader = exchange.getRequest()
                 .getHeaders()
@@ -91,12 +249,83 @@ public class JwtAuthenticationFilter
         return exchange.getResponse().setComplete();
     }
 
-    private boolean isPublicRoute(ServerWebExchange exchange) {
-        String path = exchange.getRequest().getURI().getPath();
+    // Picks the key by the token's alg, so an HS256 token can never be checked
+    // against an RSA public key or the other way round.
+    private static final class KeyResolver extends SigningKeyResolverAdapter {
+
+        private final Key hmacKey;
+        private final JwksKeyStore keyStore;
+
+        private KeyResolver(Key hmacKey, JwksKeyStore keyStore) {
+            this.hmacKey = hmacKey;
+            this.keyStore = keyStore;
+        }
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            SignatureAlgorithm alg = SignatureAlgorithm.forName(header.getAlgorithm());
 
-        return path.equals("/auth/login")
-            || path.equals("/auth/register")
-            || path.startsWith("/flights/search");
+            if (alg.isHmac() && hmacKey != null) {
+                return hmacKey;
+            }
+            if (alg.isRsa()) {
+                Key key = keyStore.get(header.getKeyId());
+                if (key == null) {
+                    throw new UnknownKeyIdException();
+                }
+                return key;
+            }
+            throw new SignatureException("No verification key for " + alg.getValue());
+        }
     }
 
+    private static final class UnknownKeyIdException extends RuntimeException {
+        private UnknownKeyIdException() {
+            super(null, null, false, false);
+        }
+    }
+
+    static final class VerifiedToken {
+        private final String email;
+        private final String roles;
+        private final boolean admin;
+        private final Date expiresAt;
+
+        VerifiedToken(String email, String roles, boolean admin, Date expiresAt) {
+            this.email = email;
+            this.roles = roles;
+            this.admin = admin;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // Entries live until the token's own exp, never longer than maxTtlNanos.
+    static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        private final long maxTtlNanos;
+
+        TokenExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt == null) {
+                return maxTtlNanos;
+            }
+            long remaining = TimeUnit.MILLISECONDS.toNanos(
+                    value.expiresAt.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(remaining, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
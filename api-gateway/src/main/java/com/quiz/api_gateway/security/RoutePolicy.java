@@ -0,0 +1,16 @@
+package com.quiz.api_gateway.security;
+
+public enum RoutePolicy {
+
+    // No token needed
+    PUBLIC,
+
+    // Any valid token
+    AUTHENTICATED,
+
+    // Valid token carrying ROLE_ADMIN
+    ADMIN,
+
+    // Service-to-service API, called over Eureka; never served through the gateway
+    INTERNAL
+}
@@ -0,0 +1,146 @@
+package com.quiz.api_gateway.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Route policy table compiled into a trie over path segments, so a lookup costs one
+ * step per segment however many routes are configured.
+ * <p>
+ * gateway.route-policies is a comma separated list of pattern=POLICY entries.
+ * A pattern segment is a literal, * (exactly one segment) or, as the last segment,
+ * ** (zero or more segments). The most specific match wins: literal over *, * over
+ * **, and a deeper ** over a shallower one. Paths matching nothing are AUTHENTICATED.
+ */
+@Component
+public class RoutePolicyMatcher {
+
+    static final String DEFAULT_POLICIES =
+            "/auth/login=PUBLIC,"
+            + "/auth/register=PUBLIC,"
+            + "/auth/refresh=PUBLIC,"
+            + "/auth/logout=PUBLIC,"
+            + "/auth/.well-known/jwks.json=PUBLIC,"
+            + "/flights/search/**=PUBLIC,"
+            + "/flights/add=ADMIN,"
+            + "/flights/upload-json=ADMIN,"
+            + "/flights/admin/**=ADMIN,"
+            + "/booking/admin/**=ADMIN,"
+            + "/flights/internal/**=INTERNAL,"
+            + "/flights/*/seats/lock=INTERNAL,"
+            + "/flights/*/seats/release=INTERNAL";
+
+    private static final RoutePolicy UNMATCHED = RoutePolicy.AUTHENTICATED;
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node wildcard;
+        private RoutePolicy exact;
+        private RoutePolicy rest;
+    }
+
+    private final Node root = new Node();
+
+    // An empty value means the built-in table above.
+    public RoutePolicyMatcher(@Value("${gateway.route-policies:}") String policies) {
+        String table = policies == null || policies.isBlank() ? DEFAULT_POLICIES : policies;
+
+        for (String entry : table.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int eq = entry.lastIndexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Route policy without =POLICY: " + entry.trim());
+            }
+            add(entry.substring(0, eq).trim(),
+                    RoutePolicy.valueOf(entry.substring(eq + 1).trim().toUpperCase()));
+        }
+    }
+
+    private void add(String pattern, RoutePolicy policy) {
+        List<String> segments = segments(pattern);
+        Node node = root;
+
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+
+            if (segment.equals("**")) {
+                if (i != segments.size() - 1) {
+                    throw new IllegalArgumentException("** must be the last segment: " + pattern);
+                }
+                node.rest = policy;
+                return;
+            }
+
+            if (segment.equals("*")) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.literals.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+        node.exact = policy;
+    }
+
+    public RoutePolicy match(String path) {
+        RoutePolicy policy = match(root, segments(path), 0);
+        return policy != null ? policy : UNMATCHED;
+    }
+
+    private static RoutePolicy match(Node node, List<String> segments, int index) {
+        if (index == segments.size()) {
+            return node.exact != null ? node.exact : node.rest;
+        }
+
+        Node literal = node.literals.get(segments.get(index));
+        if (literal != null) {
+            RoutePolicy policy = match(literal, segments, index + 1);
+            if (policy != null) {
+                return policy;
+            }
+        }
+
+        if (node.wildcard != null) {
+            RoutePolicy policy = match(node.wildcard, segments, index + 1);
+            if (policy != null) {
+                return policy;
+            }
+        }
+
+        return node.rest;
+    }
+
+    // Empty segments ("//", trailing "/") are dropped, as Spring MVC does.
+    static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>(8);
+        int start = 0;
+
+        for (int i = 0; i <= path.length(); i++) {
+            if (i == path.length() || path.charAt(i) == '/') {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return segments;
+    }
+
+    // "." and ".." could walk out of a public prefix once a downstream normalises them.
+    public static boolean hasDotSegment(String path) {
+        for (String segment : segments(path)) {
+            if (segment.equals(".") || segment.equals("..")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,127 @@
+package com.quiz.api_gateway.filter;
+
+import com.quiz.api_gateway.security.RoutePolicyMatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResponseCacheFilterTest {
+
+    private static final String BODY = "[{\"id\":\"F1\"}]";
+
+    private SimpleMeterRegistry registry;
+    private SearchResponseCacheFilter filter;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private final GatewayFilterChain upstream = exchange -> {
+        upstreamCalls.incrementAndGet();
+        return respond(exchange, HttpStatus.OK);
+    };
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new SearchResponseCacheFilter(new RoutePolicyMatcher(""), registry, 10, 100);
+    }
+
+    private static Mono<Void> respond(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return exchange.getResponse().writeWith(Mono.just(
+                exchange.getResponse().bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static MockServerWebExchange search(String query) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/flights/search?" + query));
+    }
+
+
+    @Test
+    void testSecondCallIsServedFromCache() {
+        MockServerWebExchange first = search("source=DEL&destination=BOM&date=2026-01-01");
+        filter.filter(first, upstream).block();
+
+        // Same search with the parameters reordered and an unrelated one added
+        MockServerWebExchange second = search("date=2026-01-01&destination=BOM&source=DEL&utm=x");
+        filter.filter(second, upstream).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(SearchResponseCacheFilter.CACHE_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(SearchResponseCacheFilter.CACHE_HEADER));
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+        assertEquals(1.0, registry.get("gateway.search.upstream.saved").counter().count());
+    }
+
+    @Test
+    void testIfNoneMatchReturnsNotModified() {
+        MockServerWebExchange first = search("source=DEL&destination=BOM&date=2026-01-01");
+        filter.filter(first, upstream).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange revalidate = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/flights/search?source=DEL&destination=BOM&date=2026-01-01")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag));
+        filter.filter(revalidate, upstream).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidate.getResponse().getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testConcurrentMissesShareOneUpstreamCall() {
+        Sinks.Empty<Void> release = Sinks.empty();
+        GatewayFilterChain slow = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return release.asMono().then(Mono.defer(() -> respond(exchange, HttpStatus.OK)));
+        };
+
+        MockServerWebExchange leader = search("source=DEL&destination=BOM&date=2026-01-01");
+        MockServerWebExchange follower = search("source=DEL&destination=BOM&date=2026-01-01");
+
+        CompletableFuture<Void> both = Mono.when(filter.filter(leader, slow), filter.filter(follower, slow))
+                .toFuture();
+        release.tryEmitEmpty();
+        both.join();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("COALESCED", follower.getResponse().getHeaders().getFirst(SearchResponseCacheFilter.CACHE_HEADER));
+        assertEquals(BODY, follower.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testErrorsAreNotCached() {
+        GatewayFilterChain failing = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return respond(exchange, HttpStatus.SERVICE_UNAVAILABLE);
+        };
+
+        filter.filter(search("source=DEL&destination=BOM&date=2026-01-01"), failing).block();
+        filter.filter(search("source=DEL&destination=BOM&date=2026-01-01"), failing).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testIncompleteSearchBypassesCache() {
+        filter.filter(search("source=DEL&destination=BOM"), upstream).block();
+        filter.filter(search("source=DEL&destination=BOM"), upstream).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+}
@@ -0,0 +1,223 @@
+package com.quiz.api_gateway.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static KeyPair signingKey;
+    private static KeyPair otherKey;
+
+    private SimpleMeterRegistry registry;
+    private JwksKeyStore keyStore;
+    private GatewayFilter filter;
+
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    @BeforeAll
+    static void keys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        signingKey = generator.generateKeyPair();
+        otherKey = generator.generateKeyPair();
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        keyStore = mock(JwksKeyStore.class);
+        when(keyStore.get("k1")).thenReturn(signingKey.getPublic());
+
+        JwtAuthenticationFilter factory =
+                new JwtAuthenticationFilter(registry, keyStore, new RoutePolicyMatcher(""));
+        ReflectionTestUtils.setField(factory, "secret", "");
+        ReflectionTestUtils.setField(factory, "cacheMaximumSize", 100L);
+        ReflectionTestUtils.setField(factory, "cacheMaxTtlSeconds", 600L);
+        factory.init();
+        filter = factory.apply(new JwtAuthenticationFilter.Config());
+    }
+
+    private static String token(String kid, KeyPair key, List<String> roles) {
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setSubject("user@example.com")
+                .claim("roles", roles)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(key.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static String userToken() {
+        return token("k1", signingKey, List.of("ROLE_USER"));
+    }
+
+    private MockServerWebExchange call(MockServerHttpRequest.BaseBuilder<?> request) {
+        forwarded.set(null);
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    private MockServerWebExchange call(String path, String token) {
+        return call(MockServerHttpRequest.get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private double cacheSize() {
+        return registry.get("cache.size").tag("cache", "gateway.jwt.verified").gauge().value();
+    }
+
+
+    @Test
+    void testRs256_TokenIsVerifiedAndForwardedWithUserHeaders() {
+        call("/booking/history", userToken());
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals("user@example.com", headers.getFirst("X-User-Email"));
+        assertEquals("ROLE_USER", headers.getFirst("X-User-Roles"));
+    }
+
+    @Test
+    void testCache_RepeatedTokenIsNotParsedAgain() {
+        String token = userToken();
+
+        call("/booking/history", token);
+        call("/booking/history", token);
+
+        assertNotNull(forwarded.get());
+        // The key is only resolved while parsing, so one lookup means one parse
+        verify(keyStore, times(1)).get("k1");
+        assertEquals(1.0, cacheSize());
+    }
+
+    @Test
+    void testCache_InvalidTokensAreNotCached() {
+        String forged = token("k1", otherKey, List.of("ROLE_ADMIN"));
+
+        MockServerWebExchange first = call("/booking/history", forged);
+        MockServerWebExchange second = call("/booking/history", forged);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, first.getResponse().getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, second.getResponse().getStatusCode());
+        verify(keyStore, times(2)).get("k1");
+        assertEquals(0.0, cacheSize());
+    }
+
+    @Test
+    void testCache_MetricsAreRegistered() {
+        call("/booking/history", userToken());
+
+        assertNotNull(registry.find("cache.gets").tag("cache", "gateway.jwt.verified").meter());
+        assertNotNull(registry.find("cache.size").tag("cache", "gateway.jwt.verified").meter());
+        assertNotNull(registry.find("cache.evictions").tag("cache", "gateway.jwt.verified").meter());
+    }
+
+    @Test
+    void testTokenExpiry_EntryLivesUntilExpCappedByMaxTtl() {
+        long maxTtl = TimeUnit.SECONDS.toNanos(600);
+        JwtAuthenticationFilter.TokenExpiry expiry = new JwtAuthenticationFilter.TokenExpiry(maxTtl);
+
+        long soon = expiry.expireAfterCreate("k", verified(new Date(System.currentTimeMillis() + 30_000)), 0);
+        assertTrue(soon <= TimeUnit.SECONDS.toNanos(30) && soon > TimeUnit.SECONDS.toNanos(25));
+
+        long late = expiry.expireAfterCreate("k", verified(new Date(System.currentTimeMillis() + 3_600_000)), 0);
+        assertEquals(maxTtl, late);
+
+        assertEquals(maxTtl, expiry.expireAfterCreate("k", verified(null), 0));
+        assertEquals(0, expiry.expireAfterCreate("k", verified(new Date(System.currentTimeMillis() - 1_000)), 0));
+    }
+
+    @Test
+    void testUnknownKid_RefetchesKeysThenVerifies() {
+        when(keyStore.get("k2")).thenReturn(null, signingKey.getPublic());
+        when(keyStore.refreshForUnknownKid()).thenReturn(Mono.empty());
+
+        call("/booking/history", token("k2", signingKey, List.of("ROLE_USER")));
+
+        verify(keyStore).refreshForUnknownKid();
+        assertNotNull(forwarded.get());
+    }
+
+    @Test
+    void testUnknownKid_StillUnknownAfterRefetchIsRejected() {
+        when(keyStore.refreshForUnknownKid()).thenReturn(Mono.empty());
+
+        MockServerWebExchange exchange = call("/booking/history", token("k9", signingKey, List.of("ROLE_USER")));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void testAdminRoute_NonAdminTokenIsForbidden() {
+        MockServerWebExchange user = call("/flights/add", userToken());
+        assertEquals(HttpStatus.FORBIDDEN, user.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+
+        call("/flights/add", token("k1", signingKey, List.of("ROLE_ADMIN")));
+        assertNotNull(forwarded.get());
+    }
+
+    @Test
+    void testPublicRoute_ClientUserHeadersAreStripped() {
+        call(MockServerHttpRequest.get("/flights/search")
+                .header("X-User-Email", "admin@example.com")
+                .header("X-User-Roles", "ROLE_ADMIN"));
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertFalse(headers.containsKey("X-User-Email"));
+        assertFalse(headers.containsKey("X-User-Roles"));
+    }
+
+    @Test
+    void testAuthenticatedRoute_ClientUserHeadersAreReplaced() {
+        call(MockServerHttpRequest.get("/booking/history")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken())
+                .header("X-User-Email", "admin@example.com")
+                .header("X-User-Roles", "ROLE_ADMIN"));
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals(List.of("user@example.com"), headers.get("X-User-Email"));
+        assertEquals(List.of("ROLE_USER"), headers.get("X-User-Roles"));
+    }
+
+    @Test
+    void testInternalRoute_IsForbiddenEvenWithAToken() {
+        MockServerWebExchange exchange = call("/flights/internal/F1/reserve",
+                token("k1", signingKey, List.of("ROLE_ADMIN")));
+
+        assertEquals(HttpStatus.FORBIDDEN, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+        verifyNoInteractions(keyStore);
+    }
+
+    private static JwtAuthenticationFilter.VerifiedToken verified(Date expiresAt) {
+        return new JwtAuthenticationFilter.VerifiedToken("user@example.com", "ROLE_USER", false, expiresAt);
+    }
+}
@@ -0,0 +1,66 @@
+package com.quiz.api_gateway.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutePolicyMatcherTest {
+
+    private final RoutePolicyMatcher defaults = new RoutePolicyMatcher("");
+
+
+    @Test
+    void testDefaults() {
+        assertEquals(RoutePolicy.PUBLIC, defaults.match("/auth/login"));
+        assertEquals(RoutePolicy.PUBLIC, defaults.match("/auth/.well-known/jwks.json"));
+        assertEquals(RoutePolicy.PUBLIC, defaults.match("/flights/search"));
+        assertEquals(RoutePolicy.PUBLIC, defaults.match("/flights/search/"));
+
+        assertEquals(RoutePolicy.ADMIN, defaults.match("/flights/add"));
+        assertEquals(RoutePolicy.ADMIN, defaults.match("/flights/admin/42"));
+        assertEquals(RoutePolicy.ADMIN, defaults.match("/booking/admin/stream"));
+
+        assertEquals(RoutePolicy.INTERNAL, defaults.match("/flights/internal/F1/reserve"));
+        assertEquals(RoutePolicy.INTERNAL, defaults.match("/flights/F1/seats/lock"));
+        assertEquals(RoutePolicy.INTERNAL, defaults.match("/flights//F1/seats/release/"));
+
+        assertEquals(RoutePolicy.AUTHENTICATED, defaults.match("/auth/change-password"));
+        assertEquals(RoutePolicy.AUTHENTICATED, defaults.match("/booking/history"));
+        assertEquals(RoutePolicy.AUTHENTICATED, defaults.match("/flights/searchable"));
+        assertEquals(RoutePolicy.AUTHENTICATED, defaults.match("/flights/F1/seats"));
+        assertEquals(RoutePolicy.AUTHENTICATED, defaults.match("/"));
+    }
+
+    @Test
+    void testMostSpecificWins() {
+        RoutePolicyMatcher matcher = new RoutePolicyMatcher(
+                "/api/**=PUBLIC, /api/*/private=AUTHENTICATED, /api/users/private=ADMIN, /api/users/**=ADMIN");
+
+        assertEquals(RoutePolicy.ADMIN, matcher.match("/api/users/private"));
+        assertEquals(RoutePolicy.AUTHENTICATED, matcher.match("/api/orders/private"));
+        assertEquals(RoutePolicy.ADMIN, matcher.match("/api/users/1"));
+        assertEquals(RoutePolicy.PUBLIC, matcher.match("/api/orders/1/private"));
+        assertEquals(RoutePolicy.PUBLIC, matcher.match("/api"));
+    }
+
+    @Test
+    void testWildcardFallsBackToEnclosingRest() {
+        RoutePolicyMatcher matcher = new RoutePolicyMatcher("/a/**=ADMIN, /a/*/b=PUBLIC");
+
+        assertEquals(RoutePolicy.PUBLIC, matcher.match("/a/x/b"));
+        assertEquals(RoutePolicy.ADMIN, matcher.match("/a/x/c"));
+    }
+
+    @Test
+    void testInvalidTable() {
+        assertThrows(IllegalArgumentException.class, () -> new RoutePolicyMatcher("/a/**/b=PUBLIC"));
+        assertThrows(IllegalArgumentException.class, () -> new RoutePolicyMatcher("/a"));
+        assertThrows(IllegalArgumentException.class, () -> new RoutePolicyMatcher("/a=OPEN"));
+    }
+
+    @Test
+    void testDotSegments() {
+        assertTrue(RoutePolicyMatcher.hasDotSegment("/flights/search/../admin/all"));
+        assertFalse(RoutePolicyMatcher.hasDotSegment("/auth/.well-known/jwks.json"));
+    }
+}
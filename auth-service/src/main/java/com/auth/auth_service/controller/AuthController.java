@@ -2,40 +2,40 @@ package com.auth.auth_service.controller;
 
 import com.auth.auth_service.model.AppUser;
 import com.auth.auth_service.repository.UserRepository;
-import com.auth.auth_service.service.JwtService;
-import com.auth.auth_service.service.CustomUserDetailsService;
+import com.auth.auth_service.service.LoginService;
+import com.auth.auth_service.service.RefreshTokenService;
 
 import lombok.*;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import com.auth.auth_service.dto.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
-    private final AuthenticationManager authManager;
-    private final CustomUserDetailsService userDetailsService;
     private final PasswordEncoder encoder;
     private final UserRepository repo;
-    private final JwtService jwtService;
+    private final LoginService loginService;
+    private final RefreshTokenService refreshTokens;
 
     public AuthController(
-            AuthenticationManager authManager,
-            CustomUserDetailsService userDetailsService,
             PasswordEncoder encoder,
             UserRepository repo,
-            JwtService jwtService) {
+            LoginService loginService,
+            RefreshTokenService refreshTokens) {
 
-        this.authManager = authManager;
-        this.userDetailsService = userDetailsService;
         this.encoder = encoder;
         this.repo = repo;
-        this.jwtService = jwtService;
+        this.loginService = loginService;
+        this.refreshTokens = refreshTokens;
     }
 
     // REGISTER
@@ -56,21 +56,44 @@ public class AuthController {
         return ResponseEntity.status(201).body("Registered successfully");
     }
 
-    // LOGIN
+    // LOGIN (async: the request thread is released while the hash is checked)
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request) {
+
+        return loginService.login(request.getEmail(), request.getPassword())
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(AuthController::loginFailure);
+    }
+
+    // REFRESH: new access token without the password; the refresh token is rotated
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+        try {
+            return ResponseEntity.ok(refreshTokens.refresh(request.getRefreshToken()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(401).body("Invalid refresh token");
+        }
+    }
 
-        authManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+    // LOGOUT: revokes the refresh token and every token rotated from the same login
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody RefreshRequest request) {
+        refreshTokens.logout(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 
-        UserDetails user = userDetailsService.loadUserByUsername(request.getEmail());
-        String token = jwtService.generateToken(user);
+    private static ResponseEntity<?> loginFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
 
-        return ResponseEntity.ok(new AuthResponse(token));
+        if (cause instanceof AuthenticationException) {
+            return ResponseEntity.status(401).body("Invalid email or password");
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(503).body("Too many login attempts, try again shortly");
+        }
+        throw new CompletionException(cause);
     }
     
     @PutMapping("/change-password")
@@ -101,6 +124,9 @@ public class AuthController {
         user.setPassword(encoder.encode(request.getNewPassword()));
         repo.save(user);
 
+        // Sessions holding the old password must log in again
+        refreshTokens.revokeAll(user);
+
         return ResponseEntity.ok("Password changed successfully");
     }
 }
@@ -0,0 +1,31 @@
+package com.auth.auth_service.controller;
+
+import com.auth.auth_service.service.SigningKeyService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/auth")
+public class JwksController {
+
+    private final SigningKeyService signingKeys;
+
+    public JwksController(SigningKeyService signingKeys) {
+        this.signingKeys = signingKeys;
+    }
+
+    // Public keys for RS256 tokens; empty while auth.jwt.signing=hmac
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(SigningKeyService.JWKS_MAX_AGE_SECONDS, TimeUnit.SECONDS).cachePublic())
+                .body(Map.of("keys", signingKeys.jwks()));
+    }
+}
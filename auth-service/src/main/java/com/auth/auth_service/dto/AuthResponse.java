@@ -4,4 +4,7 @@ import lombok.*;
 @AllArgsConstructor
 public class AuthResponse {
     private String token;
+    private String refreshToken;
+    // Access token lifetime in seconds
+    private long expiresIn;
 }
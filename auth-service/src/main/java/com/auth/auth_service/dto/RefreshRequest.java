@@ -0,0 +1,7 @@
+package com.auth.auth_service.dto;
+import lombok.*;
+@Data
+public
+class RefreshRequest {
+    private String refreshToken;
+}
@@ -1,6 +1,7 @@
 package com.auth.auth_service.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.Data;
 
@@ -15,6 +16,7 @@ public class AppUser {
     private String id;
 
     private String name;
+    @Indexed(unique = true)
     private String email;
     private String password;
 
@@ -0,0 +1,36 @@
+package com.auth.auth_service.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * A refresh token, stored as the SHA-256 of the opaque value handed to the client.
+ * Every token issued from one login shares a familyId; a rotated token stays in the
+ * collection (revoked) until it expires so that a replay of it can be detected.
+ */
+@Data
+@Document(collection = "refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private String tokenHash;
+
+    @Indexed
+    private String familyId;
+    @Indexed
+    private String userId;
+
+    private boolean revoked;
+    private Date createdAt;
+
+    // TTL index: Mongo deletes the document once this time has passed
+    @Indexed(expireAfterSeconds = 0)
+    private Date expiresAt;
+}
@@ -0,0 +1,30 @@
+package com.auth.auth_service.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * An RSA key pair for signing access tokens. The id is the "kid" put in the token
+ * header and published in the JWKS.
+ */
+@Data
+@Document(collection = "signing_keys")
+public class SigningKey {
+
+    @Id
+    private String id;
+
+    // Base64 X.509 (public) and PKCS#8 (private) encodings
+    private String publicKey;
+    private String privateKey;
+
+    private Date createdAt;
+
+    // Past the last token it can have signed; the TTL index then removes it
+    @Indexed(expireAfterSeconds = 0)
+    private Date expiresAt;
+}
@@ -0,0 +1,20 @@
+package com.auth.auth_service.repository;
+
+import com.auth.auth_service.model.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Query("{ 'familyId': ?0, 'revoked': false }")
+    @Update("{ '$set': { 'revoked': true } }")
+    long revokeFamily(String familyId);
+
+    @Query("{ 'userId': ?0, 'revoked': false }")
+    @Update("{ '$set': { 'revoked': true } }")
+    long revokeAllForUser(String userId);
+}
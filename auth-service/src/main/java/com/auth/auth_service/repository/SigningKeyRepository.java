@@ -0,0 +1,11 @@
+package com.auth.auth_service.repository;
+
+import com.auth.auth_service.model.SigningKey;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Date;
+import java.util.List;
+
+public interface SigningKeyRepository extends MongoRepository<SigningKey, String> {
+    List<SigningKey> findByExpiresAtAfterOrderByCreatedAtDesc(Date now);
+}
@@ -2,8 +2,15 @@ package com.auth.auth_service.repository;
 
 import com.auth.auth_service.model.AppUser;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import java.util.Optional;
 
 public interface UserRepository extends MongoRepository<AppUser, String> {
     Optional<AppUser> findByEmail(String email);
+
+    // Rehash on login: skipped if the password changed since it was read.
+    @Query("{ '_id': ?0, 'password': ?1 }")
+    @Update("{ '$set': { 'password': ?2 } }")
+    long updatePasswordIfUnchanged(String id, String currentHash, String newHash);
 }
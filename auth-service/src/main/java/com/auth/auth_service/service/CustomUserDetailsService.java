@@ -20,6 +20,10 @@ public class CustomUserDetailsService implements UserDetailsService {
         AppUser user = repo.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
+        return toUserDetails(user);
+    }
+
+    public static UserDetails toUserDetails(AppUser user) {
         // return Spring Security User
         return org.springframework.security.core.userdetails.User
                 .withUsername(user.getEmail())
@@ -14,25 +14,48 @@ import java.util.stream.Collectors;
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
+    // Only needed when auth.jwt.signing=hmac
+    @Value("${jwt.secret:}")
     private String secret;
 
-    @Value("${jwt.expiration-ms}")
+    // Access token lifetime; clients renew through /auth/refresh
+    @Value("${jwt.access-expiration-ms:${jwt.expiration-ms}}")
     private long expiration;
 
+    private final SigningKeyService signingKeys;
+
+    public JwtService(SigningKeyService signingKeys) {
+        this.signingKeys = signingKeys;
+    }
+
     private Key getSigningKey() {
         return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
     }
 
+    public long getExpirationMs() {
+        return expiration;
+    }
+
     public String generateToken(UserDetails user) {
         Date now = new Date();
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(user.getUsername())
                 .claim("roles", user.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority)
                         .collect(Collectors.toList()))
                 .setIssuedAt(now)
-                .setExpiration(new Date(now.getTime() + expiration))
+                .setExpiration(new Date(now.getTime() + expiration));
+
+        if (signingKeys.isRsa()) {
+            // Verifiers pick the public key from the JWKS by kid
+            SigningKeyService.ActiveKey key = signingKeys.current();
+            return builder
+                    .setHeaderParam(JwsHeader.KEY_ID, key.kid())
+                    .signWith(key.privateKey(), SignatureAlgorithm.RS256)
+                    .compact();
+        }
+
+        return builder
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
@@ -0,0 +1,72 @@
+package com.auth.auth_service.service;
+
+import com.auth.auth_service.dto.AuthResponse;
+import com.auth.auth_service.model.AppUser;
+import com.auth.auth_service.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Login with one user lookup. The hash check runs on the {@link PasswordHasher}
+ * pool, and an outdated hash is replaced while the plain password is at hand.
+ */
+@Service
+public class LoginService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginService.class);
+
+    private final UserRepository repo;
+    private final PasswordHasher hasher;
+    private final RefreshTokenService refreshTokens;
+
+    public LoginService(UserRepository repo, PasswordHasher hasher, RefreshTokenService refreshTokens) {
+        this.repo = repo;
+        this.hasher = hasher;
+        this.refreshTokens = refreshTokens;
+    }
+
+    /**
+     * @return access and refresh token; fails with {@link BadCredentialsException}
+     *         for a wrong email or password
+     */
+    public CompletableFuture<AuthResponse> login(String email, String password) {
+
+        Optional<AppUser> found = email == null ? Optional.empty() : repo.findByEmail(email);
+
+        if (found.isEmpty()) {
+            return hasher.verifyUnknownUser(password)
+                    .thenApply(result -> {
+                        throw new BadCredentialsException("Bad credentials");
+                    });
+        }
+
+        AppUser user = found.get();
+
+        return hasher.verify(password, user.getPassword())
+                .thenApply(result -> {
+                    if (!result.matches()) {
+                        throw new BadCredentialsException("Bad credentials");
+                    }
+                    if (result.upgradedHash() != null) {
+                        upgrade(user, result.upgradedHash());
+                    }
+                    return refreshTokens.login(user);
+                });
+    }
+
+    // Best effort: a failed rewrite leaves the old hash, which still verifies.
+    private void upgrade(AppUser user, String newHash) {
+        try {
+            if (repo.updatePasswordIfUnchanged(user.getId(), user.getPassword(), newHash) == 1) {
+                log.info("Password hash upgraded for user {}", user.getId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Password hash upgrade failed for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+}
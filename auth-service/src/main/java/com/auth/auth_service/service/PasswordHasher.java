@@ -0,0 +1,123 @@
+package com.auth.auth_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs password hash checks on a fixed-size pool with a bounded queue. A login storm
+ * then queues here, or is rejected once the queue is full, instead of occupying
+ * every web server thread with bcrypt work.
+ */
+@Service
+public class PasswordHasher {
+
+    /**
+     * @param upgradedHash the password re-encoded with the current settings when it
+     *                     matched and the stored hash is outdated, otherwise null
+     */
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+
+    private final PasswordEncoder encoder;
+    private final MeterRegistry registry;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Timer> verifyTimers = new ConcurrentHashMap<>();
+    private final Timer encodeTimer;
+    private final String dummyHash;
+
+    public PasswordHasher(
+            PasswordEncoder encoder,
+            MeterRegistry registry,
+            @Value("${auth.password.algorithm:bcrypt}") String algorithm,
+            @Value("${auth.password.hash-threads:0}") int threads,
+            @Value("${auth.password.queue-capacity:200}") int queueCapacity
+    ) {
+        this.encoder = encoder;
+        this.registry = registry;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(registry, executor, "auth.password.hashing");
+
+        this.encodeTimer = Timer.builder("auth.password.encode")
+                .tag("algorithm", algorithm)
+                .publishPercentileHistogram()
+                .register(registry);
+
+        // Checked against when the user does not exist, so both cases cost one hash.
+        this.dummyHash = encoder.encode("no-such-user");
+    }
+
+    /**
+     * Completes exceptionally with {@link RejectedExecutionException} when the
+     * hashing queue is full.
+     */
+    public CompletableFuture<Verification> verify(String rawPassword, String storedHash) {
+        try {
+            return CompletableFuture.supplyAsync(() -> check(rawPassword, storedHash), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public CompletableFuture<Verification> verifyUnknownUser(String rawPassword) {
+        return verify(rawPassword, dummyHash)
+                .thenApply(result -> new Verification(false, null));
+    }
+
+    private Verification check(String rawPassword, String storedHash) {
+        if (rawPassword == null || storedHash == null) {
+            return new Verification(false, null);
+        }
+
+        boolean matches = verifyTimer(storedHash)
+                .record(() -> encoder.matches(rawPassword, storedHash));
+
+        if (!matches || !encoder.upgradeEncoding(storedHash)) {
+            return new Verification(matches, null);
+        }
+        return new Verification(true, encodeTimer.record(() -> encoder.encode(rawPassword)));
+    }
+
+    private Timer verifyTimer(String storedHash) {
+        return verifyTimers.computeIfAbsent(algorithmOf(storedHash), type ->
+                Timer.builder("auth.password.verify")
+                        .tag("algorithm", type)
+                        .publishPercentileHistogram()
+                        .register(registry));
+    }
+
+    // "{bcrypt}..." -> bcrypt; hashes from before the prefix are plain bcrypt.
+    static String algorithmOf(String storedHash) {
+        if (storedHash.startsWith("{")) {
+            int end = storedHash.indexOf('}');
+            if (end > 1) {
+                return storedHash.substring(1, end);
+            }
+        }
+        return "bcrypt-unprefixed";
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,150 @@
+package com.auth.auth_service.service;
+
+import com.auth.auth_service.dto.AuthResponse;
+import com.auth.auth_service.model.AppUser;
+import com.auth.auth_service.model.RefreshToken;
+import com.auth.auth_service.repository.RefreshTokenRepository;
+import com.auth.auth_service.repository.UserRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opaque refresh tokens with rotation. A refresh spends the presented token and
+ * returns a new one from the same family; presenting a spent token again means it
+ * leaked, so the whole family is revoked.
+ * <p>
+ * Tokens are 256 random bits, so a plain SHA-256 is enough to store them: there is
+ * nothing to brute-force, and a refresh costs one indexed lookup instead of a bcrypt.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final RefreshTokenRepository tokenRepo;
+    private final UserRepository userRepo;
+    private final MongoTemplate mongoTemplate;
+    private final JwtService jwtService;
+
+    @Value("${auth.refresh.ttl-days:14}")
+    private long ttlDays = 14;
+
+    public RefreshTokenService(
+            RefreshTokenRepository tokenRepo,
+            UserRepository userRepo,
+            MongoTemplate mongoTemplate,
+            JwtService jwtService
+    ) {
+        this.tokenRepo = tokenRepo;
+        this.userRepo = userRepo;
+        this.mongoTemplate = mongoTemplate;
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * Access and refresh token for a user who has just proven their password.
+     */
+    public AuthResponse login(AppUser user) {
+        return tokensFor(user, new ObjectId().toHexString());
+    }
+
+    /**
+     * @throws BadCredentialsException if the token is unknown, expired or already spent
+     */
+    public AuthResponse refresh(String rawToken) {
+
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+
+        String hash = hash(rawToken);
+        Date now = new Date();
+
+        // Spend the token atomically, so two concurrent refreshes cannot both succeed.
+        RefreshToken current = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("tokenHash").is(hash)
+                        .and("revoked").is(false)
+                        .and("expiresAt").gt(now)),
+                new Update().set("revoked", true),
+                FindAndModifyOptions.options().returnNew(false),
+                RefreshToken.class
+        );
+
+        if (current == null) {
+            tokenRepo.findByTokenHash(hash)
+                    .filter(RefreshToken::isRevoked)
+                    .ifPresent(reused -> {
+                        log.warn("Spent refresh token presented again, revoking family {} of user {}",
+                                reused.getFamilyId(), reused.getUserId());
+                        tokenRepo.revokeFamily(reused.getFamilyId());
+                    });
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+
+        AppUser user = userRepo.findById(current.getUserId())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        return tokensFor(user, current.getFamilyId());
+    }
+
+    // Idempotent: unknown tokens are ignored.
+    public void logout(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        tokenRepo.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> tokenRepo.revokeFamily(token.getFamilyId()));
+    }
+
+    public void revokeAll(AppUser user) {
+        tokenRepo.revokeAllForUser(user.getId());
+    }
+
+    private AuthResponse tokensFor(AppUser user, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String rawToken = BASE64.encodeToString(bytes);
+
+        Date now = new Date();
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setUserId(user.getId());
+        token.setCreatedAt(now);
+        token.setExpiresAt(new Date(now.getTime() + TimeUnit.DAYS.toMillis(ttlDays)));
+        tokenRepo.save(token);
+
+        String accessToken = jwtService.generateToken(CustomUserDetailsService.toUserDetails(user));
+        return new AuthResponse(accessToken, rawToken, jwtService.getExpirationMs() / 1000);
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return BASE64.encodeToString(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.auth.auth_service.service;
+
+import com.auth.auth_service.model.SigningKey;
+import com.auth.auth_service.repository.SigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rotating RSA signing keys for auth.jwt.signing=rsa. Keys live in Mongo so all
+ * auth-service instances sign with, and publish, the same set.
+ * <p>
+ * A new key is generated publish-lead-ms before the signing key is due for rotation
+ * and is only published at first. It starts signing once it is publish-lead-ms old,
+ * by which time every instance's JWKS and every verifier's cached copy contain it.
+ * Older keys stay in the JWKS until every token they signed has expired.
+ */
+@Service
+public class SigningKeyService {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyService.class);
+
+    // Covers clock skew and JWKS caching at the verifiers.
+    private static final long RETIRE_MARGIN_MS = TimeUnit.HOURS.toMillis(1);
+
+    // Cache-Control max-age of the JWKS response.
+    public static final long JWKS_MAX_AGE_SECONDS = 300;
+
+    public record ActiveKey(String kid, PrivateKey privateKey) {
+    }
+
+    private final SigningKeyRepository repo;
+
+    @Value("${auth.jwt.signing:hmac}")
+    private String signing = "hmac";
+
+    @Value("${auth.jwt.rotation-hours:24}")
+    private long rotationHours = 24;
+
+    @Value("${jwt.access-expiration-ms:${jwt.expiration-ms:900000}}")
+    private long tokenLifetimeMs = 900000;
+
+    @Value("${auth.jwt.key-refresh-ms:300000}")
+    private long keyRefreshMs = 300000;
+
+    // Must cover key-refresh-ms, the JWKS max-age and the verifiers' own refresh
+    // interval (jwt.jwks.refresh-seconds at the gateway).
+    @Value("${auth.jwt.key-publish-lead-ms:900000}")
+    private long publishLeadMs = 900000;
+
+    private volatile ActiveKey current;
+    private volatile List<Map<String, Object>> jwks = List.of();
+
+    public SigningKeyService(SigningKeyRepository repo) {
+        this.repo = repo;
+    }
+
+    public boolean isRsa() {
+        return "rsa".equalsIgnoreCase(signing);
+    }
+
+    // In rsa mode startup fails without a usable key rather than issuing no tokens.
+    @PostConstruct
+    void init() {
+        if (!isRsa()) {
+            return;
+        }
+        if (publishLeadMs < keyRefreshMs + TimeUnit.SECONDS.toMillis(JWKS_MAX_AGE_SECONDS)) {
+            throw new IllegalStateException("auth.jwt.key-publish-lead-ms must be at least "
+                    + "auth.jwt.key-refresh-ms plus the JWKS max-age");
+        }
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.jwt.key-refresh-ms:300000}",
+            initialDelayString = "${auth.jwt.key-refresh-ms:300000}")
+    void scheduledRefresh() {
+        if (!isRsa()) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Signing key refresh failed, keeping key {}: {}",
+                    current == null ? null : current.kid(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the key set, adds the next key once the signing key is within
+     * publish-lead-ms of rotation, and signs with the newest key that has been
+     * published for publish-lead-ms. Instances that rotate at the same moment each
+     * add a key; both are published and all instances pick the same one to sign.
+     */
+    public synchronized void refresh() {
+        Date now = new Date();
+        List<SigningKey> keys = new ArrayList<>(repo.findByExpiresAtAfterOrderByCreatedAtDesc(now));
+
+        long rotationMs = TimeUnit.HOURS.toMillis(rotationHours);
+
+        if (keys.isEmpty()) {
+            // Nothing has been issued yet, so there is no verifier to wait for.
+            keys.add(create(now, rotationMs));
+        } else if (keys.get(0).getCreatedAt().getTime() + rotationMs - publishLeadMs <= now.getTime()) {
+            keys.add(0, create(now, rotationMs));
+        }
+
+        SigningKey signer = signingKey(keys, now.getTime());
+        if (current == null || !current.kid().equals(signer.getId())) {
+            current = new ActiveKey(signer.getId(), privateKey(signer));
+            log.info("Signing with key {}", signer.getId());
+        }
+
+        List<Map<String, Object>> published = new ArrayList<>(keys.size());
+        for (SigningKey key : keys) {
+            published.add(toJwk(key));
+        }
+        jwks = List.copyOf(published);
+    }
+
+    // Newest key published long enough ago; the oldest key if none is yet.
+    private SigningKey signingKey(List<SigningKey> newestFirst, long now) {
+        for (SigningKey key : newestFirst) {
+            if (key.getCreatedAt().getTime() + publishLeadMs <= now) {
+                return key;
+            }
+        }
+        return newestFirst.get(newestFirst.size() - 1);
+    }
+
+    private SigningKey create(Date now, long rotationMs) {
+        SigningKey created = generate(now, rotationMs);
+        repo.save(created);
+        log.info("Generated signing key {}", created.getId());
+        return created;
+    }
+
+    public ActiveKey current() {
+        ActiveKey key = current;
+        if (key == null) {
+            throw new IllegalStateException("No RSA signing key loaded");
+        }
+        return key;
+    }
+
+    // Public half of every key still able to verify a live token.
+    public List<Map<String, Object>> jwks() {
+        return jwks;
+    }
+
+    private SigningKey generate(Date now, long rotationMs) {
+        KeyPair pair;
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            pair = generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("RSA not available", e);
+        }
+
+        SigningKey key = new SigningKey();
+        key.setId(new ObjectId().toHexString());
+        key.setPublicKey(Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()));
+        key.setPrivateKey(Base64.getEncoder().encodeToString(pair.getPrivate().getEncoded()));
+        key.setCreatedAt(now);
+        key.setExpiresAt(new Date(
+                now.getTime() + publishLeadMs + rotationMs + tokenLifetimeMs + RETIRE_MARGIN_MS));
+        return key;
+    }
+
+    private static PrivateKey privateKey(SigningKey key) {
+        try {
+            return KeyFactory.getInstance("RSA").generatePrivate(
+                    new PKCS8EncodedKeySpec(Base64.getDecoder().decode(key.getPrivateKey())));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unreadable signing key " + key.getId(), e);
+        }
+    }
+
+    private static Map<String, Object> toJwk(SigningKey key) {
+        RSAPublicKey publicKey;
+        try {
+            publicKey = (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey())));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unreadable signing key " + key.getId(), e);
+        }
+
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "RSA");
+        jwk.put("use", "sig");
+        jwk.put("alg", "RS256");
+        jwk.put("kid", key.getId());
+        jwk.put("n", base64Url(publicKey.getModulus()));
+        jwk.put("e", base64Url(publicKey.getPublicExponent()));
+        return jwk;
+    }
+
+    // JWK integers are unsigned big-endian, without BigInteger's sign byte.
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
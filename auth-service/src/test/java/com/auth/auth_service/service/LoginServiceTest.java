@@ -0,0 +1,106 @@
+package com.auth.auth_service.service;
+
+import com.auth.auth_service.config.SecurityConfig;
+import com.auth.auth_service.dto.AuthResponse;
+import com.auth.auth_service.model.AppUser;
+import com.auth.auth_service.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LoginServiceTest {
+
+    private UserRepository repo;
+    private PasswordEncoder encoder;
+    private SimpleMeterRegistry registry;
+    private PasswordHasher hasher;
+    private LoginService loginService;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(UserRepository.class);
+        RefreshTokenService refreshTokens = mock(RefreshTokenService.class);
+        when(refreshTokens.login(any())).thenReturn(new AuthResponse("jwt", "refresh", 900));
+
+        encoder = new SecurityConfig().encoder("bcrypt", 5);
+        registry = new SimpleMeterRegistry();
+        hasher = new PasswordHasher(encoder, registry, "bcrypt", 2, 10);
+        loginService = new LoginService(repo, hasher, refreshTokens);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+
+    @Test
+    void testLogin_UnprefixedHashIsUpgraded() {
+
+        // Stored before the {id} prefix existed, at a lower cost
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+        when(repo.findByEmail("u@x.com")).thenReturn(Optional.of(user(legacy)));
+        when(repo.updatePasswordIfUnchanged(eq("U1"), eq(legacy), anyString())).thenReturn(1L);
+
+        assertEquals("jwt", loginService.login("u@x.com", "secret").join().getToken());
+
+        verify(repo).updatePasswordIfUnchanged(eq("U1"), eq(legacy),
+                argThat(hash -> hash.startsWith("{bcrypt}$2a$05$")));
+        assertEquals(1, registry.get("auth.password.verify")
+                .tag("algorithm", "bcrypt-unprefixed").timer().count());
+    }
+
+    @Test
+    void testLogin_CurrentHashIsKept() {
+
+        when(repo.findByEmail("u@x.com")).thenReturn(Optional.of(user(encoder.encode("secret"))));
+
+        assertEquals("jwt", loginService.login("u@x.com", "secret").join().getToken());
+
+        verify(repo, never()).updatePasswordIfUnchanged(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testLogin_WrongPassword() {
+
+        when(repo.findByEmail("u@x.com")).thenReturn(Optional.of(user(encoder.encode("secret"))));
+
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> loginService.login("u@x.com", "wrong").join());
+
+        assertInstanceOf(BadCredentialsException.class, ex.getCause());
+        verify(repo, never()).updatePasswordIfUnchanged(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testLogin_UnknownUser() {
+
+        when(repo.findByEmail("nobody@x.com")).thenReturn(Optional.empty());
+
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> loginService.login("nobody@x.com", "secret").join());
+
+        assertInstanceOf(BadCredentialsException.class, ex.getCause());
+    }
+
+    private static AppUser user(String hash) {
+        AppUser user = new AppUser();
+        user.setId("U1");
+        user.setEmail("u@x.com");
+        user.setPassword(hash);
+        user.setRoles(Set.of("ROLE_USER"));
+        return user;
+    }
+}
@@ -0,0 +1,113 @@
+package com.auth.auth_service.service;
+
+import com.auth.auth_service.dto.AuthResponse;
+import com.auth.auth_service.model.AppUser;
+import com.auth.auth_service.model.RefreshToken;
+import com.auth.auth_service.repository.RefreshTokenRepository;
+import com.auth.auth_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private RefreshTokenRepository tokenRepo;
+    private UserRepository userRepo;
+    private MongoTemplate mongoTemplate;
+    private RefreshTokenService service;
+
+    private final AppUser user = new AppUser();
+
+    @BeforeEach
+    void setUp() {
+        tokenRepo = mock(RefreshTokenRepository.class);
+        userRepo = mock(UserRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        JwtService jwtService = mock(JwtService.class);
+        when(jwtService.generateToken(any())).thenReturn("jwt");
+        when(jwtService.getExpirationMs()).thenReturn(900_000L);
+
+        service = new RefreshTokenService(tokenRepo, userRepo, mongoTemplate, jwtService);
+
+        user.setId("U1");
+        user.setEmail("u@x.com");
+        user.setPassword("{bcrypt}hash");
+        user.setRoles(Set.of("ROLE_USER"));
+    }
+
+
+    @Test
+    void testLogin_StoresOnlyTheHash() {
+
+        AuthResponse response = service.login(user);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(tokenRepo).save(saved.capture());
+
+        assertEquals("jwt", response.getToken());
+        assertEquals(900, response.getExpiresIn());
+        assertEquals(RefreshTokenService.hash(response.getRefreshToken()), saved.getValue().getTokenHash());
+        assertNotEquals(response.getRefreshToken(), saved.getValue().getTokenHash());
+        assertTrue(saved.getValue().getExpiresAt().after(saved.getValue().getCreatedAt()));
+    }
+
+    @Test
+    void testRefresh_RotatesWithinFamily() {
+
+        RefreshToken current = token("F1", false);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(RefreshToken.class))).thenReturn(current);
+        when(userRepo.findById("U1")).thenReturn(Optional.of(user));
+
+        AuthResponse response = service.refresh("old-token");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(tokenRepo).save(saved.capture());
+
+        assertEquals("F1", saved.getValue().getFamilyId());
+        assertNotEquals("old-token", response.getRefreshToken());
+        verify(tokenRepo, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void testRefresh_ReusedTokenRevokesFamily() {
+
+        when(tokenRepo.findByTokenHash(RefreshTokenService.hash("spent")))
+                .thenReturn(Optional.of(token("F1", true)));
+
+        assertThrows(BadCredentialsException.class, () -> service.refresh("spent"));
+
+        verify(tokenRepo).revokeFamily("F1");
+        verify(tokenRepo, never()).save(any());
+    }
+
+    @Test
+    void testRefresh_UnknownToken() {
+
+        when(tokenRepo.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(BadCredentialsException.class, () -> service.refresh("nope"));
+
+        verify(tokenRepo, never()).revokeFamily(anyString());
+    }
+
+    private static RefreshToken token(String familyId, boolean revoked) {
+        RefreshToken token = new RefreshToken();
+        token.setFamilyId(familyId);
+        token.setUserId("U1");
+        token.setRevoked(revoked);
+        return token;
+    }
+}
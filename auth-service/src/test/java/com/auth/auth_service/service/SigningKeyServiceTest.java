@@ -0,0 +1,117 @@
+package com.auth.auth_service.service;
+
+import com.auth.auth_service.model.SigningKey;
+import com.auth.auth_service.repository.SigningKeyRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SigningKeyServiceTest {
+
+    private SigningKeyRepository repo;
+    private SigningKeyService service;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(SigningKeyRepository.class);
+        service = new SigningKeyService(repo);
+        ReflectionTestUtils.setField(service, "signing", "rsa");
+    }
+
+
+    @Test
+    void testRsaToken_VerifiesWithPublishedJwk() throws Exception {
+        when(repo.findByExpiresAtAfterOrderByCreatedAtDesc(any())).thenReturn(List.of());
+        service.refresh();
+
+        JwtService jwtService = new JwtService(service);
+        ReflectionTestUtils.setField(jwtService, "expiration", 60_000L);
+        String token = jwtService.generateToken(User.withUsername("u@x.com")
+                .password("unused")
+                .roles("USER")
+                .build());
+
+        Map<String, Object> jwk = service.jwks().get(0);
+        PublicKey publicKey = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("n"))),
+                new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("e")))));
+
+        Jws<Claims> jws = Jwts.parserBuilder().setSigningKey(publicKey).build().parseClaimsJws(token);
+
+        assertEquals("RS256", jws.getHeader().getAlgorithm());
+        assertEquals(jwk.get("kid"), jws.getHeader().getKeyId());
+        assertEquals("u@x.com", jws.getBody().getSubject());
+    }
+
+    @Test
+    void testRefresh_PublishesNextKeyBeforeSigningWithIt() {
+        SigningKey old = savedKey();
+        old.setCreatedAt(hoursAgo(24));
+
+        when(repo.findByExpiresAtAfterOrderByCreatedAtDesc(any())).thenReturn(List.of(old));
+        service.refresh();
+
+        ArgumentCaptor<SigningKey> next = ArgumentCaptor.forClass(SigningKey.class);
+        verify(repo, times(2)).save(next.capture());
+        SigningKey pending = next.getValue();
+
+        // Published, but tokens are still signed with the old key
+        assertEquals(old.getId(), service.current().kid());
+        assertEquals(2, service.jwks().size());
+        assertEquals(pending.getId(), service.jwks().get(0).get("kid"));
+
+        // Once the lead time has passed, every verifier has it
+        pending.setCreatedAt(new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(16)));
+        when(repo.findByExpiresAtAfterOrderByCreatedAtDesc(any())).thenReturn(List.of(pending, old));
+        service.refresh();
+
+        assertEquals(pending.getId(), service.current().kid());
+        assertEquals(old.getId(), service.jwks().get(1).get("kid"));
+        verify(repo, times(2)).save(any());
+    }
+
+    @Test
+    void testRefresh_FreshKeyIsReused() {
+        SigningKey key = savedKey();
+        key.setCreatedAt(hoursAgo(1));
+
+        when(repo.findByExpiresAtAfterOrderByCreatedAtDesc(any())).thenReturn(List.of(key));
+        service.refresh();
+
+        verify(repo, times(1)).save(any());
+        assertEquals(key.getId(), service.current().kid());
+    }
+
+    // A key generated by the service itself, as stored by the first refresh.
+    private SigningKey savedKey() {
+        when(repo.findByExpiresAtAfterOrderByCreatedAtDesc(any())).thenReturn(List.of());
+        service.refresh();
+
+        ArgumentCaptor<SigningKey> saved = ArgumentCaptor.forClass(SigningKey.class);
+        verify(repo).save(saved.capture());
+        return saved.getValue();
+    }
+
+    private static Date hoursAgo(long hours) {
+        return new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(hours));
+    }
+}
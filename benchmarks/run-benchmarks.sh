@@ -0,0 +1,24 @@
+#!/usr/bin/env bash
+#
+# Builds the services and the JMH uber-jar, then runs the benchmarks and writes
+# JMH JSON results named after the current commit so runs can be compared
+# (e.g. with https://jmh.morethan.io).
+#
+# Usage: benchmarks/run-benchmarks.sh [jmh args...]
+#   benchmarks/run-benchmarks.sh Jwt          # only JwtBenchmark
+#   benchmarks/run-benchmarks.sh -f 3 -wi 5   # more forks / warm-up
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+OUT="$ROOT/benchmarks/results"
+NAME="$(date +%Y%m%d-%H%M%S)-$(git -C "$ROOT" rev-parse --short HEAD 2>/dev/null || echo local)"
+
+mkdir -p "$OUT"
+
+(cd "$ROOT" && mvn -B -q -DskipTests -pl benchmarks -am package)
+
+java -jar "$ROOT/benchmarks/target/benchmarks.jar" \
+    -rf json -rff "$OUT/$NAME.json" "$@"
+
+echo "Results: $OUT/$NAME.json"
@@ -0,0 +1,49 @@
+package com.flight.benchmarks;
+
+import com.booking.bookingservice.security.HeaderAuthenticationFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Role-header parsing done on every request by the downstream services
+ * (bookingservice's filter; flightservice's is the same).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeaderAuthenticationBenchmark {
+
+    @Param({"ROLE_USER", "ROLE_USER,ROLE_ADMIN,ROLE_AGENT"})
+    public String roles;
+
+    private final HeaderAuthenticationFilter filter = new HeaderAuthenticationFilter();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final FilterChain chain = (req, res) -> { };
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/booking/history");
+        request.addHeader("X-User-Email", "bench@example.com");
+        request.addHeader("X-User-Roles", roles);
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws ServletException, IOException {
+        filter.doFilter(request, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
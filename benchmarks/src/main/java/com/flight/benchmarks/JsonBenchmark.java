@@ -0,0 +1,85 @@
+package com.flight.benchmarks;
+
+import com.booking.bookingservice.model.Booking;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.flight.flightservice.model.Flight;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    private ObjectWriter flightWriter;
+    private ObjectReader flightReader;
+    private ObjectWriter bookingWriter;
+    private ObjectReader bookingReader;
+
+    private Flight flight;
+    private Booking booking;
+    private byte[] flightJson;
+    private byte[] bookingJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        flightWriter = mapper.writerFor(Flight.class);
+        flightReader = mapper.readerFor(Flight.class);
+        bookingWriter = mapper.writerFor(Booking.class);
+        bookingReader = mapper.readerFor(Booking.class);
+
+        flight = new Flight();
+        flight.setId("665f1c2e9b1d4a2f8c3e7a10");
+        flight.setFlightNumber("AI202");
+        flight.setAirline("Air India");
+        flight.setSource("DEL");
+        flight.setDestination("BOM");
+        flight.setDate("2026-12-01");
+        flight.setAvailableSeats(180);
+        flight.setCapacity(180);
+
+        booking = new Booking();
+        booking.setId("665f1c2e9b1d4a2f8c3e7a11");
+        booking.setPnr("PNR-1A2B3C4D");
+        booking.setFlightId(flight.getId());
+        booking.setPassengerName("Bench Passenger");
+        booking.setEmail("bench@example.com");
+        booking.setPassengerCount(2);
+        booking.setSeatNumbers(List.of("A1", "A2"));
+        booking.setStatus("CONFIRMED");
+        booking.setBookingDate(new Date(1_780_000_000_000L));
+
+        flightJson = flightWriter.writeValueAsBytes(flight);
+        bookingJson = bookingWriter.writeValueAsBytes(booking);
+    }
+
+    @Benchmark
+    public byte[] serializeFlight() throws IOException {
+        return flightWriter.writeValueAsBytes(flight);
+    }
+
+    @Benchmark
+    public Flight deserializeFlight() throws IOException {
+        return flightReader.readValue(flightJson);
+    }
+
+    @Benchmark
+    public byte[] serializeBooking() throws IOException {
+        return bookingWriter.writeValueAsBytes(booking);
+    }
+
+    @Benchmark
+    public Booking deserializeBooking() throws IOException {
+        return bookingReader.readValue(bookingJson);
+    }
+}
@@ -0,0 +1,122 @@
+package com.flight.benchmarks;
+
+import com.auth.auth_service.service.JwtService;
+import com.auth.auth_service.service.SigningKeyService;
+import com.quiz.api_gateway.security.JwksKeyStore;
+import com.quiz.api_gateway.security.JwtAuthenticationFilter;
+import com.quiz.api_gateway.security.RoutePolicyMatcher;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue in auth-service and token verification in the gateway filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    // HS256 needs at least 256 bits of key material.
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtService jwtService;
+    private UserDetails user;
+    private String token;
+
+    private JwtParser sharedParser;
+    private String rsaToken;
+    private JwtParser rsaParser;
+    private GatewayFilter gatewayFilter;
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+
+    @Setup
+    public void setUp() {
+        // hmac mode never touches the key repository
+        jwtService = new JwtService(new SigningKeyService(null));
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expiration", TimeUnit.HOURS.toMillis(1));
+
+        user = User.withUsername("bench@example.com")
+                .password("unused")
+                .roles("USER", "ADMIN")
+                .build();
+        token = jwtService.generateToken(user);
+
+        sharedParser = Jwts.parserBuilder().setSigningKey(SECRET.getBytes()).build();
+
+        KeyPair rsa = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        rsaToken = Jwts.builder()
+                .setSubject("bench@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(rsa.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+        rsaParser = Jwts.parserBuilder().setSigningKey(rsa.getPublic()).build();
+
+        // No JWKS fetch happens for HS256 tokens, so the load balancer is a pass-through.
+        JwksKeyStore keyStore = new JwksKeyStore((request, next) -> next.exchange(request));
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                new SimpleMeterRegistry(), keyStore, new RoutePolicyMatcher(""));
+        ReflectionTestUtils.setField(filter, "secret", SECRET);
+        ReflectionTestUtils.setField(filter, "cacheMaximumSize", 10_000L);
+        ReflectionTestUtils.setField(filter, "cacheMaxTtlSeconds", 600L);
+        ReflectionTestUtils.invokeMethod(filter, "init");
+        gatewayFilter = filter.apply(new JwtAuthenticationFilter.Config());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    // The gateway's behaviour before parser reuse: a parser per request.
+    @Benchmark
+    public Claims verifyWithNewParser() {
+        return Jwts.parserBuilder()
+                .setSigningKey(SECRET.getBytes())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims verifyWithSharedParser() {
+        return sharedParser.parseClaimsJws(token).getBody();
+    }
+
+    // RS256 verification as done by the gateway with auth.jwt.signing=rsa.
+    @Benchmark
+    public Claims verifyRs256() {
+        return rsaParser.parseClaimsJws(rsaToken).getBody();
+    }
+
+    // Full filter pass for a token already in the verified-token cache.
+    @Benchmark
+    public MockServerWebExchange gatewayFilterCachedToken() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/booking/history")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        gatewayFilter.filter(exchange, chain).block();
+        return exchange;
+    }
+}
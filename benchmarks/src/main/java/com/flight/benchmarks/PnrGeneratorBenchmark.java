@@ -0,0 +1,27 @@
+package com.flight.benchmarks;
+
+import com.booking.bookingservice.util.PnrGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PnrGeneratorBenchmark {
+
+    @Benchmark
+    public String generate() {
+        return PnrGenerator.generate();
+    }
+
+    // Booking threads generating PNRs concurrently.
+    @Benchmark
+    @Threads(8)
+    public String generateContended() {
+        return PnrGenerator.generate();
+    }
+}
@@ -0,0 +1,57 @@
+package com.flight.benchmarks;
+
+import com.flight.flightservice.model.Flight;
+import com.flight.flightservice.model.Seat;
+import com.flight.flightservice.repo.SeatRepository;
+import com.flight.flightservice.service.DocumentSeatMapStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Seat document generation for new flights, with the bulk insert replaced by a
+ * no-op stand-in so only the layout and batching work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeatSeedingBenchmark {
+
+    @Param({"60", "180", "600"})
+    public int capacity;
+
+    private DocumentSeatMapStore store;
+    private List<Flight> flights;
+
+    @Setup
+    public void setUp() {
+        // stubOnly: no invocation recording, so memory stays flat across iterations
+        SeatRepository seatRepository = mock(SeatRepository.class, withSettings().stubOnly());
+        BulkOperations bulkOps = mock(BulkOperations.class, withSettings().stubOnly().defaultAnswer(RETURNS_SELF));
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Seat.class)).thenReturn(bulkOps);
+        store = new DocumentSeatMapStore(seatRepository, null, mongoTemplate);
+
+        Flight flight = new Flight();
+        flight.setId("bench-flight");
+        flight.setCapacity(capacity);
+        flight.setAvailableSeats(capacity);
+        flights = List.of(flight);
+    }
+
+    @Benchmark
+    public void seedSeats() {
+        store.seedSeats(flights);
+    }
+}
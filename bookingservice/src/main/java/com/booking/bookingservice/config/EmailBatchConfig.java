@@ -0,0 +1,84 @@
+package com.booking.bookingservice.config;
+
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listener factory and retry queues for the batch email consumer.
+ * <p>
+ * emailQueue itself keeps its original arguments (changing them would make the
+ * existing queue fail to redeclare). Failed sends are republished to
+ * emailQueue.retry.N, which holds them for initial-delay * 2^(N-1) and then
+ * dead-letters them back into emailQueue. After the last attempt they are parked
+ * in emailQueue.dlq.
+ */
+@Configuration
+@ConditionalOnProperty(name = "booking.email.consumer.mode", havingValue = "batch")
+public class EmailBatchConfig {
+
+    public static final String LISTENER_FACTORY = "emailBatchListenerFactory";
+    public static final String DEAD_LETTER_QUEUE = MQConfig.EMAIL_QUEUE + ".dlq";
+
+    @Value("${booking.email.retry.attempts:3}")
+    private int retryAttempts = 3;
+
+    @Value("${booking.email.retry.initial-delay-ms:10000}")
+    private long initialDelayMs = 10000;
+
+    public static String retryQueue(int attempt) {
+        return MQConfig.EMAIL_QUEUE + ".retry." + attempt;
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory emailBatchListenerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${booking.email.batch.size:50}") int batchSize,
+            @Value("${booking.email.batch.receive-timeout-ms:1000}") long receiveTimeoutMs,
+            @Value("${booking.email.concurrency:2}") int concurrency,
+            @Value("${booking.email.max-concurrency:8}") int maxConcurrency
+    ) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        // Deliver List<Message> of up to batchSize; a partial batch is released
+        // after receiveTimeout so quiet periods do not delay emails.
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(batchSize * 2);
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(maxConcurrency);
+        return factory;
+    }
+
+    @Bean
+    public Declarables emailRetryQueues() {
+        List<Declarable> queues = new ArrayList<>();
+        long delay = initialDelayMs;
+        for (int attempt = 1; attempt <= retryAttempts; attempt++) {
+            queues.add(QueueBuilder.durable(retryQueue(attempt))
+                    .ttl((int) Math.min(delay, Integer.MAX_VALUE))
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(MQConfig.EMAIL_QUEUE)
+                    .build());
+            delay *= 2;
+        }
+        return new Declarables(queues);
+    }
+
+    @Bean
+    public Queue emailDeadLetterQueue() {
+        return QueueBuilder.durable(DEAD_LETTER_QUEUE).build();
+    }
+}
@@ -16,6 +16,9 @@ import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 public class MQConfig {
     public static final String EMAIL_QUEUE = "emailQueue";
 
+    // Published by flightservice on flight update/delete.
+    public static final String FLIGHT_CHANGES_EXCHANGE = "flight.changes";
+
     @Bean
     public Queue emailQueue() {
         return new Queue(EMAIL_QUEUE, true);
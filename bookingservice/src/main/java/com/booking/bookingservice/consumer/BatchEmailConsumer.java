@@ -0,0 +1,162 @@
+package com.booking.bookingservice.consumer;
+
+import com.booking.bookingservice.config.EmailBatchConfig;
+import com.booking.bookingservice.config.MQConfig;
+import com.booking.bookingservice.dto.EmailNotification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends emailQueue messages in batches. A whole batch goes through one
+ * JavaMailSender.send call, which opens a single SMTP connection for all of it.
+ * Messages that fail are republished to the next retry queue, and after the last
+ * attempt to emailQueue.dlq, so the batch itself is always acknowledged.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.email.consumer.mode", havingValue = "batch")
+public class BatchEmailConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchEmailConsumer.class);
+
+    static final String ATTEMPT_HEADER = "x-email-attempt";
+
+    private final JavaMailSender mailSender;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper mapper;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final Timer lag;
+    private final Timer batchTime;
+
+    @Value("${booking.email.retry.attempts:3}")
+    private int retryAttempts = 3;
+
+    public BatchEmailConsumer(
+            JavaMailSender mailSender,
+            RabbitTemplate rabbitTemplate,
+            ObjectMapper mapper,
+            MeterRegistry registry
+    ) {
+        this.mailSender = mailSender;
+        this.rabbitTemplate = rabbitTemplate;
+        this.mapper = mapper;
+
+        this.sent = Counter.builder("booking.email.sent").tag("result", "sent").register(registry);
+        this.retried = Counter.builder("booking.email.sent").tag("result", "retried").register(registry);
+        this.deadLettered = Counter.builder("booking.email.sent").tag("result", "dead_lettered").register(registry);
+        // Publish-to-consume delay, from the timestamp EmailProducer sets
+        this.lag = Timer.builder("booking.email.lag").register(registry);
+        this.batchTime = Timer.builder("booking.email.batch").register(registry);
+    }
+
+    @RabbitListener(queues = MQConfig.EMAIL_QUEUE, containerFactory = EmailBatchConfig.LISTENER_FACTORY)
+    public void receive(List<Message> messages) {
+
+        long now = System.currentTimeMillis();
+        List<Message> sendable = new ArrayList<>(messages.size());
+        List<SimpleMailMessage> mails = new ArrayList<>(messages.size());
+
+        for (Message message : messages) {
+            Date published = message.getMessageProperties().getTimestamp();
+            if (published != null) {
+                lag.record(Math.max(0, now - published.getTime()), TimeUnit.MILLISECONDS);
+            }
+
+            EmailNotification notification;
+            try {
+                notification = mapper.readValue(message.getBody(), EmailNotification.class);
+            } catch (IOException e) {
+                log.error("Unreadable email message, moving it to {}: {}",
+                        EmailBatchConfig.DEAD_LETTER_QUEUE, e.getMessage());
+                deadLetter(message);
+                continue;
+            }
+
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setTo(notification.getTo());
+            mail.setSubject(notification.getSubject());
+            mail.setText(notification.getBody());
+            mails.add(mail);
+            sendable.add(message);
+        }
+
+        if (mails.isEmpty()) {
+            return;
+        }
+
+        Set<Object> failed = batchTime.record(() -> send(mails));
+
+        for (int i = 0; i < mails.size(); i++) {
+            if (failed.contains(mails.get(i))) {
+                retry(sendable.get(i));
+            }
+        }
+        sent.increment(mails.size() - failed.size());
+
+        log.info("Email batch of {}: {} sent, {} failed",
+                mails.size(), mails.size() - failed.size(), failed.size());
+    }
+
+    // Identity set: two equal notifications are still two messages.
+    private Set<Object> send(List<SimpleMailMessage> mails) {
+        Set<Object> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            mailSender.send(mails.toArray(new SimpleMailMessage[0]));
+            return failed;
+        } catch (MailSendException e) {
+            if (!e.getFailedMessages().isEmpty()) {
+                failed.addAll(e.getFailedMessages().keySet());
+                return failed;
+            }
+            log.warn("Email batch failed: {}", e.getMessage());
+        } catch (MailException e) {
+            log.warn("Email batch failed: {}", e.getMessage());
+        }
+        failed.addAll(mails);
+        return failed;
+    }
+
+    private void retry(Message message) {
+        Integer previous = message.getMessageProperties().getHeader(ATTEMPT_HEADER);
+        int attempt = previous == null ? 1 : previous + 1;
+
+        if (attempt > retryAttempts) {
+            deadLetter(message);
+            return;
+        }
+
+        message.getMessageProperties().setHeader(ATTEMPT_HEADER, attempt);
+        rabbitTemplate.send("", EmailBatchConfig.retryQueue(attempt), message);
+        retried.increment();
+    }
+
+    private void deadLetter(Message message) {
+        rabbitTemplate.send("", EmailBatchConfig.DEAD_LETTER_QUEUE, message);
+        deadLettered.increment();
+    }
+}
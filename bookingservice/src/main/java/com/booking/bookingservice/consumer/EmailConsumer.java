@@ -5,11 +5,14 @@ import com.booking.bookingservice.dto.EmailNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Component;
 
+// One message, one SMTP send; booking.email.consumer.mode=batch uses BatchEmailConsumer.
 @Component
+@ConditionalOnProperty(name = "booking.email.consumer.mode", havingValue = "single", matchIfMissing = true)
 public class EmailConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(EmailConsumer.class);
@@ -0,0 +1,35 @@
+package com.booking.bookingservice.consumer;
+
+import com.booking.bookingservice.config.MQConfig;
+import com.booking.bookingservice.dto.FlightChangedEvent;
+import com.booking.bookingservice.service.FlightMetadataCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FlightChangeConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightChangeConsumer.class);
+
+    private final FlightMetadataCache flightCache;
+
+    public FlightChangeConsumer(FlightMetadataCache flightCache) {
+        this.flightCache = flightCache;
+    }
+
+    // Anonymous (exclusive, auto-delete) queue: every instance gets every event.
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue,
+            exchange = @Exchange(value = MQConfig.FLIGHT_CHANGES_EXCHANGE, type = ExchangeTypes.FANOUT)
+    ))
+    public void onFlightChanged(FlightChangedEvent event) {
+        log.info("Flight {} {}, dropping cached copy", event.getFlightId(), event.getType());
+        flightCache.invalidate(event.getFlightId());
+    }
+}
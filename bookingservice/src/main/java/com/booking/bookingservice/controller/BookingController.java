@@ -1,15 +1,21 @@
 package com.booking.bookingservice.controller;
 
+import com.booking.bookingservice.dto.BatchBookingResult;
 import com.booking.bookingservice.dto.BookingRequest;
 import com.booking.bookingservice.dto.BookingResponse;
+import com.booking.bookingservice.dto.CursorPage;
 import com.booking.bookingservice.model.Booking;
+import com.booking.bookingservice.service.BatchBookingService;
 import com.booking.bookingservice.service.BookingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,9 +27,16 @@ public class BookingController {
             LoggerFactory.getLogger(BookingController.class);
 
     private final BookingService service;
+    private final BatchBookingService batchService;
+    private final ObjectMapper mapper;
 
-    public BookingController(BookingService service) {
+    public BookingController(
+            BookingService service,
+            BatchBookingService batchService,
+            ObjectMapper mapper) {
         this.service = service;
+        this.batchService = batchService;
+        this.mapper = mapper;
     }
 
 
@@ -43,6 +56,29 @@ public class BookingController {
     }
 
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create many bookings in one request (per-item results)")
+    public ResponseEntity<List<BatchBookingResult>> createBatch(
+            @RequestHeader("X-User-Email") String userEmail,
+            @RequestHeader("X-User-Roles") String roles,
+            @RequestBody List<BookingRequest> requests) {
+
+        log.info("Batch booking request by {} with {} bookings",
+                userEmail, requests.size());
+
+        // Only agents and admins book on behalf of other passengers
+        boolean onBehalf = isAgent(roles) || isAdmin(roles);
+
+        for (BookingRequest req : requests) {
+            if (req != null && (!onBehalf || req.getEmail() == null)) {
+                req.setEmail(userEmail); // 🔒 enforce ownership
+            }
+        }
+
+        return ResponseEntity.ok(batchService.bookBatch(requests));
+    }
+
+
     @PutMapping("/cancel/{id}")
     @Operation(summary = "Cancel booking by ID")
     public Booking cancelBooking(@PathVariable String id) {
@@ -74,19 +110,53 @@ public class BookingController {
     }
 
 
+    @GetMapping("/admin/page")
+    @Operation(summary = "List all bookings page by page (keyset on id)")
+    public ResponseEntity<CursorPage<Booking>> adminPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestHeader("X-User-Roles") String roles) {
+
+        if (!isAdmin(roles)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(service.getBookingsPage(after, size));
+    }
+
+
+    @GetMapping(value = "/admin/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all bookings as NDJSON while the cursor is read")
+    public ResponseEntity<StreamingResponseBody> adminStream(
+            @RequestHeader("X-User-Roles") String roles) {
+
+        if (!isAdmin(roles)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        log.info("Admin streaming all bookings");
+
+        StreamingResponseBody body = NdjsonBody.of(mapper, service::streamAllBookings);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+
     @GetMapping("/pnr/{pnr}")
     public ResponseEntity<BookingResponse> getBookingByPnr(
             @PathVariable String pnr,
             @RequestHeader("X-User-Email") String userEmail,
             @RequestHeader("X-User-Roles") String roles) {
 
-        Booking booking = service.getBookingByPnr(pnr);
+        BookingResponse booking = service.getBookingResponseByPnr(pnr);
 
         if (!isAdmin(roles) && !booking.getEmail().equals(userEmail)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        return ResponseEntity.ok(toResponse(booking));
+        return ResponseEntity.ok(booking);
     }
 
 
@@ -96,7 +166,7 @@ public class BookingController {
             @RequestHeader("X-User-Email") String userEmail,
             @RequestHeader("X-User-Roles") String roles) {
 
-        Booking booking = service.getBookingByPnr(pnr);
+        BookingResponse booking = service.getBookingResponseByPnr(pnr);
 
         if (!isAdmin(roles) && !booking.getEmail().equals(userEmail)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -124,4 +194,8 @@ public class BookingController {
     private boolean isAdmin(String rolesHeader) {
         return rolesHeader != null && rolesHeader.contains("ROLE_ADMIN");
     }
+
+    private boolean isAgent(String rolesHeader) {
+        return rolesHeader != null && rolesHeader.contains("ROLE_AGENT");
+    }
 }
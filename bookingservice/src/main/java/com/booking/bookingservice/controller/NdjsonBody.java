@@ -0,0 +1,42 @@
+package com.booking.bookingservice.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream as newline-delimited JSON, one value per line. The stream is
+ * opened on the response thread and closed when the body is done.
+ */
+final class NdjsonBody {
+
+    // Flushing after every value would mean one socket write per line
+    static final int FLUSH_EVERY = 500;
+
+    private NdjsonBody() {
+    }
+
+    static <T> StreamingResponseBody of(ObjectMapper mapper, Supplier<Stream<T>> values) {
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        return out -> {
+            try (Stream<T> stream = values.get();
+                 JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                int written = 0;
+                for (T value : (Iterable<T>) stream::iterator) {
+                    writer.writeValue(generator, value);
+                    generator.writeRaw('\n');
+                    if (++written % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.booking.bookingservice.controller;
+
+import com.booking.bookingservice.dto.BookingRequest;
+import com.booking.bookingservice.dto.BookingResponse;
+import com.booking.bookingservice.model.Booking;
+import com.booking.bookingservice.service.ReactiveBookingService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/booking/v2")
+@ConditionalOnProperty(name = "booking.reactive.enabled", havingValue = "true")
+public class ReactiveBookingController {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(ReactiveBookingController.class);
+
+    private final ReactiveBookingService service;
+
+    public ReactiveBookingController(ReactiveBookingService service) {
+        this.service = service;
+    }
+
+
+    // The request thread is released as soon as the Mono is returned.
+    @PostMapping("/create")
+    @Operation(summary = "Create booking without blocking a request thread")
+    public Mono<ResponseEntity<BookingResponse>> createBooking(
+            @RequestHeader("X-User-Email") String userEmail,
+            @RequestBody BookingRequest req) {
+
+        log.info("Reactive create booking request by {}", userEmail);
+
+        req.setEmail(userEmail); // 🔒 enforce ownership
+
+        return service.bookTicket(req)
+                .map(booking -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(toResponse(booking)));
+    }
+
+
+    private BookingResponse toResponse(Booking booking) {
+        return new BookingResponse(
+                booking.getPnr(),
+                booking.getFlightId(),
+                booking.getPassengerName(),
+                booking.getEmail(),
+                booking.getPassengerCount(),
+                booking.getSeatNumbers(),
+                booking.getStatus(),
+                booking.getBookingDate()
+        );
+    }
+}
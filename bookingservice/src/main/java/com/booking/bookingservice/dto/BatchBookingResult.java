@@ -0,0 +1,23 @@
+package com.booking.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBookingResult {
+
+    // Position of the request in the submitted batch.
+    private int index;
+
+    private String status;
+    private String pnr;
+    private String flightId;
+    private String email;
+    private List<String> seatNumbers;
+    private String message;
+}
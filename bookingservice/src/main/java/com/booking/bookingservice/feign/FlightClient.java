@@ -31,4 +31,11 @@ public interface FlightClient {
         @PathVariable String flightId,
         @RequestBody List<String> seatNumbers
     );
+
+    // Locks the seats and reduces the seat count in one round trip.
+    @PostMapping("/flights/internal/{flightId}/reserve")
+    boolean reserveSeats(
+        @PathVariable String flightId,
+        @RequestBody List<String> seatNumbers
+    );
 }
@@ -1,6 +1,7 @@
 package com.booking.bookingservice.feign;
 
 import com.booking.bookingservice.dto.FlightInternalDTO;
+import com.booking.bookingservice.exception.FlightServiceDownException;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -42,6 +43,13 @@ public class FlightClientFallback implements FlightClient {
 
     }
 
+    // false would read as "not enough seats", so an outage is reported as such
+    @Override
+    public boolean reserveSeats(String flightId, List<String> seatNumbers) {
+
+        throw new FlightServiceDownException("Flight Service DOWN");
+    }
+
    
 
     @Override
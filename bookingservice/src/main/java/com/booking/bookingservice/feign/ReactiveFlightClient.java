@@ -0,0 +1,62 @@
+package com.booking.bookingservice.feign;
+
+import com.booking.bookingservice.exception.FlightServiceDownException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link FlightClient} for the reactive booking pipeline.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reactive.enabled", havingValue = "true")
+public class ReactiveFlightClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveFlightClient.class);
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public ReactiveFlightClient(
+            @LoadBalanced WebClient.Builder builder,
+            @Value("${booking.reactive.flight-service-url:http://flightservice}") String baseUrl,
+            @Value("${booking.reactive.timeout-ms:3000}") long timeoutMs
+    ) {
+        this.webClient = builder.baseUrl(baseUrl).build();
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    /**
+     * Locks the seats and reduces the seat count in one round trip; false when the
+     * flight has fewer seats left than requested. A seat conflict surfaces as
+     * {@link IllegalStateException}; any other failure as {@link FlightServiceDownException}.
+     */
+    public Mono<Boolean> reserveSeats(String flightId, List<String> seatNumbers) {
+        return webClient.post()
+                .uri("/flights/internal/{flightId}/reserve", flightId)
+                .bodyValue(seatNumbers)
+                .retrieve()
+                .onStatus(status -> status.value() == HttpStatus.CONFLICT.value(),
+                        response -> response.bodyToMono(String.class)
+                                .defaultIfEmpty("")
+                                .map(body -> new IllegalStateException(
+                                        "Seats unavailable for flight " + flightId + ": " + body)))
+                .bodyToMono(Boolean.class)
+                // false means not enough seats, so a missing answer must not default to it
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Empty reserve response")))
+                .timeout(timeout)
+                .onErrorMap(e -> !(e instanceof IllegalStateException), e -> {
+                    log.warn("Reserve call for flight {} failed: {}", flightId, e.toString());
+                    return new FlightServiceDownException("Flight Service DOWN");
+                });
+    }
+}
@@ -1,22 +1,31 @@
 package com.booking.bookingservice.model;
 
+import com.booking.bookingservice.dto.EmailNotification;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 @Data
 @Document(collection = "bookings")
+@CompoundIndex(name = "flight_email_idx", def = "{ 'flightId': 1, 'email': 1 }")
+@CompoundIndex(name = "outbox_idx", def = "{ 'outbox.messageId': 1 }", sparse = true)
 public class Booking {
 
     @Id
     private String id;
 
+    @Indexed(unique = true)
     private String pnr;
     private String flightId;
     private String passengerName;
+    @Indexed
     private String email;
 
    
@@ -27,4 +36,24 @@ public class Booking {
 
     private String status;
     private Date bookingDate;
+
+    // Emails not yet published. Saved in the same document write as the booking
+    // change (Mongo runs standalone here, so no multi-document transactions);
+    // OutboxRelay publishes them and removes the field once it is empty.
+    @JsonIgnore
+    private List<OutboxMessage> outbox;
+
+    // Lease taken by the relay instance publishing this outbox; others skip the
+    // booking until outboxClaimedUntil has passed.
+    @JsonIgnore
+    private String outboxClaimedBy;
+    @JsonIgnore
+    private Date outboxClaimedUntil;
+
+    public void queueEmail(EmailNotification email) {
+        if (outbox == null) {
+            outbox = new ArrayList<>();
+        }
+        outbox.add(OutboxMessage.of(email));
+    }
 }
@@ -0,0 +1,26 @@
+package com.booking.bookingservice.model;
+
+import com.booking.bookingservice.dto.EmailNotification;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+
+import java.util.Date;
+
+/**
+ * An email waiting in a booking's outbox until the relay has published it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxMessage {
+
+    private String messageId;
+    private EmailNotification email;
+    private Date createdAt;
+
+    public static OutboxMessage of(EmailNotification email) {
+        return new OutboxMessage(new ObjectId().toHexString(), email, new Date());
+    }
+}
@@ -0,0 +1,24 @@
+package com.booking.bookingservice.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Lease on a PNR generator node id. The id is held by one bookingservice instance
+ * at a time, and reservedSecond outlives the lease so the next holder resumes
+ * after the last second the id may have used.
+ */
+@Data
+@Document(collection = "pnr_nodes")
+public class PnrNode {
+
+    @Id
+    private Integer id;
+
+    private String owner;
+    private Date leaseUntil;
+    private long reservedSecond;
+}
@@ -2,18 +2,45 @@ package com.booking.bookingservice.producer;
 
 import com.booking.bookingservice.config.MQConfig;
 import com.booking.bookingservice.dto.EmailNotification;
+import org.springframework.amqp.core.MessagePostProcessor;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.Date;
+import java.util.List;
+
 @Component
 public class EmailProducer {
+
+    // Publish time, read by the batch consumer to report queue lag.
+    private static final MessagePostProcessor TIMESTAMP = message -> {
+        message.getMessageProperties().setTimestamp(new Date());
+        return message;
+    };
+
     private final RabbitTemplate rabbitTemplate;
 
     public EmailProducer(RabbitTemplate rabbitTemplate) {
         this.rabbitTemplate = rabbitTemplate;
     }
 
-    public void sendEmail(EmailNotification notification) {
-        rabbitTemplate.convertAndSend(MQConfig.EMAIL_QUEUE, notification);
+    /**
+     * Publishes the whole batch on one dedicated channel and waits for the broker to
+     * confirm all of it (needs spring.rabbitmq.publisher-confirm-type=simple).
+     *
+     * @throws org.springframework.amqp.AmqpException if a message is nacked or the
+     *         confirms do not arrive within the timeout
+     */
+    public void sendEmails(List<EmailNotification> notifications, long confirmTimeoutMs) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        rabbitTemplate.invoke(operations -> {
+            for (EmailNotification notification : notifications) {
+                operations.convertAndSend(MQConfig.EMAIL_QUEUE, notification, TIMESTAMP);
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMs);
+            return null;
+        });
     }
 }
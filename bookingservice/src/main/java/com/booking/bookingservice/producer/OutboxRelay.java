@@ -0,0 +1,158 @@
+package com.booking.bookingservice.producer;
+
+import com.booking.bookingservice.dto.EmailNotification;
+import com.booking.bookingservice.model.Booking;
+import com.booking.bookingservice.model.OutboxMessage;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drains the booking outboxes into emailQueue. Each pass claims a batch of bookings,
+ * publishes their emails with publisher confirms and only then removes the messages,
+ * so an email is sent at least once; a crash between the two steps sends it again
+ * once the claim expires. The claim keeps other instances off the same bookings.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final EmailProducer emailProducer;
+
+    @Value("${booking.outbox.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${booking.outbox.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs = 5000;
+
+    // Must outlast a publish (confirm timeout included), or a second instance
+    // may take the batch over while it is still being sent.
+    @Value("${booking.outbox.claim-seconds:60}")
+    private long claimSeconds = 60;
+
+    public OutboxRelay(MongoTemplate mongoTemplate, EmailProducer emailProducer) {
+        this.mongoTemplate = mongoTemplate;
+        this.emailProducer = emailProducer;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.relay-interval-ms:200}")
+    public void relay() {
+        try {
+            // Keep going while full batches come back, so a backlog drains in one run.
+            while (relayBatch() == batchSize) {
+                log.debug("Outbox backlog, relaying next batch");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, retrying on next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of bookings whose outbox was drained
+     */
+    int relayBatch() {
+        String claim = UUID.randomUUID().toString();
+        List<Booking> bookings = claimBatch(claim);
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+
+        List<EmailNotification> emails = new ArrayList<>();
+        for (Booking booking : bookings) {
+            for (OutboxMessage message : booking.getOutbox()) {
+                emails.add(message.getEmail());
+            }
+        }
+
+        try {
+            emailProducer.sendEmails(emails, confirmTimeoutMs);
+        } catch (RuntimeException e) {
+            release(claim);
+            throw e;
+        }
+
+        // $pull only the ids that were published; messages queued meanwhile stay.
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Booking.class);
+        List<String> bookingIds = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            List<String> published = new ArrayList<>(booking.getOutbox().size());
+            for (OutboxMessage message : booking.getOutbox()) {
+                published.add(message.getMessageId());
+            }
+            ops.updateOne(
+                    Query.query(Criteria.where("id").is(booking.getId())),
+                    new Update().pull("outbox",
+                                    new Document("messageId", new Document("$in", published)))
+                            .unset("outboxClaimedBy")
+                            .unset("outboxClaimedUntil")
+            );
+            bookingIds.add(booking.getId());
+        }
+        ops.updateMulti(
+                Query.query(Criteria.where("id").in(bookingIds).and("outbox").size(0)),
+                new Update().unset("outbox")
+        );
+        ops.execute();
+
+        log.info("Outbox relay published {} emails from {} bookings",
+                emails.size(), bookings.size());
+        return bookings.size();
+    }
+
+    // Tags up to batchSize unclaimed (or expired) bookings with this pass's claim id
+    // in one conditional update, then reads back only the ones that carry it: a
+    // booking another instance claimed in between fails the filter and is skipped.
+    private List<Booking> claimBatch(String claim) {
+        Date now = new Date();
+        Criteria claimable = Criteria.where("outbox.messageId").exists(true)
+                .orOperator(
+                        Criteria.where("outboxClaimedUntil").exists(false),
+                        Criteria.where("outboxClaimedUntil").lt(now));
+
+        Query candidates = Query.query(claimable).limit(batchSize);
+        candidates.fields().include("id");
+        List<String> ids = mongoTemplate.find(candidates, Booking.class)
+                .stream()
+                .map(Booking::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("id").in(ids).andOperator(claimable)),
+                new Update()
+                        .set("outboxClaimedBy", claim)
+                        .set("outboxClaimedUntil", new Date(now.getTime() + claimSeconds * 1000)),
+                Booking.class
+        );
+
+        Query claimed = Query.query(Criteria.where("outboxClaimedBy").is(claim));
+        claimed.fields().include("outbox");
+        return mongoTemplate.find(claimed, Booking.class);
+    }
+
+    private void release(String claim) {
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("outboxClaimedBy").is(claim)),
+                new Update().unset("outboxClaimedBy").unset("outboxClaimedUntil"),
+                Booking.class
+        );
+    }
+}
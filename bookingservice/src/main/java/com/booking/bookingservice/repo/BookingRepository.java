@@ -1,13 +1,28 @@
 package com.booking.bookingservice.repo;
 
+import com.booking.bookingservice.dto.BookingResponse;
 import com.booking.bookingservice.model.Booking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends MongoRepository<Booking, String> {
     List<Booking> findByEmail(String email);
     Optional<Booking> findByFlightIdAndEmail(String flightId, String email);
+    List<Booking> findByFlightIdAndEmailIn(String flightId, Collection<String> emails);
     Optional<Booking> findByPnr(String pnr);
+
+    // DTO projection: only the BookingResponse fields are read from the document.
+    Optional<BookingResponse> findResponseByPnr(String pnr);
+
+    // Keyset pagination on _id: no skip, no count query.
+    List<Booking> findAllBy(Pageable pageable);
+    List<Booking> findByIdGreaterThan(String id, Pageable pageable);
+
+    // Backed by a Mongo cursor; the caller must close the stream.
+    Stream<Booking> streamAllBy();
 }
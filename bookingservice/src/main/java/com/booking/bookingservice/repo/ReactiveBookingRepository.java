@@ -0,0 +1,10 @@
+package com.booking.bookingservice.repo;
+
+import com.booking.bookingservice.model.Booking;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBookingRepository extends ReactiveMongoRepository<Booking, String> {
+    Mono<Boolean> existsByFlightIdAndEmail(String flightId, String email);
+    Mono<Booking> findByPnr(String pnr);
+}
@@ -17,6 +17,13 @@ import java.util.stream.Collectors;
 
 public class HeaderAuthenticationFilter extends OncePerRequestFilter {
 
+    // Async results (Mono, StreamingResponseBody) are authorized again on the
+    // ASYNC dispatch, which starts with an empty security context.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
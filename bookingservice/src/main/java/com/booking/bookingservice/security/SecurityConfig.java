@@ -23,8 +23,10 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(
                     "/booking/create",
+                    "/booking/v2/create",
                     "/booking/pnr/**"
                 ).hasRole("USER")
+                .requestMatchers("/booking/batch").hasAnyRole("USER", "AGENT", "ADMIN")
                 .anyRequest().authenticated()
             );
 
@@ -0,0 +1,373 @@
+package com.booking.bookingservice.service;
+
+import com.booking.bookingservice.dto.BatchBookingResult;
+import com.booking.bookingservice.dto.BookingRequest;
+import com.booking.bookingservice.dto.EmailNotification;
+import com.booking.bookingservice.feign.FlightClient;
+import com.booking.bookingservice.model.Booking;
+import com.booking.bookingservice.repo.BookingRepository;
+import com.booking.bookingservice.util.PnrGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Books many requests at once. Requests are grouped by flight so each flight costs
+ * one seat reservation call, whatever the number of bookings on it.
+ * Bookings are written with a single bulk insert, each carrying its confirmation
+ * email in its outbox.
+ */
+@Service
+public class BatchBookingService {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(BatchBookingService.class);
+
+    private static final String CONFIRMED = "CONFIRMED";
+    private static final String FAILED = "FAILED";
+
+    // A conflict names the taken seats, so one retry normally suffices.
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    private final BookingRepository bookingRepository;
+    private final FlightClient flightClient;
+    private final ObjectMapper mapper;
+
+    @Value("${booking.batch.max-size:500}")
+    private int maxBatchSize = 500;
+
+    public BatchBookingService(
+            BookingRepository bookingRepository,
+            FlightClient flightClient,
+            ObjectMapper mapper
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.flightClient = flightClient;
+        this.mapper = mapper;
+    }
+
+    public List<BatchBookingResult> bookBatch(List<BookingRequest> requests) {
+
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one booking is required");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "A batch may contain at most " + maxBatchSize + " bookings"
+            );
+        }
+
+        log.info("Batch booking request with {} bookings", requests.size());
+
+        BatchBookingResult[] results = new BatchBookingResult[requests.size()];
+        Map<String, List<Integer>> byFlight = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i));
+            if (error != null) {
+                results[i] = failed(i, requests.get(i), error);
+            } else {
+                byFlight.computeIfAbsent(requests.get(i).getFlightId(), k -> new ArrayList<>())
+                        .add(i);
+            }
+        }
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> bookingIndexes = new ArrayList<>();
+        Map<String, List<Integer>> reserved = new LinkedHashMap<>();
+
+        for (Map.Entry<String, List<Integer>> group : byFlight.entrySet()) {
+            List<Integer> accepted =
+                    reserveForFlight(group.getKey(), group.getValue(), requests, results);
+
+            if (!accepted.isEmpty()) {
+                reserved.put(group.getKey(), accepted);
+            }
+            for (int i : accepted) {
+                bookings.add(toBooking(requests.get(i)));
+                bookingIndexes.add(i);
+            }
+        }
+
+        if (!bookings.isEmpty() && !insert(bookings, reserved, requests)) {
+            for (int i : bookingIndexes) {
+                results[i] = failed(i, requests.get(i), "Booking could not be saved");
+            }
+            return Arrays.asList(results);
+        }
+
+        for (int b = 0; b < bookings.size(); b++) {
+            Booking booking = bookings.get(b);
+            int i = bookingIndexes.get(b);
+
+            results[i] = new BatchBookingResult(
+                    i,
+                    CONFIRMED,
+                    booking.getPnr(),
+                    booking.getFlightId(),
+                    booking.getEmail(),
+                    booking.getSeatNumbers(),
+                    null
+            );
+        }
+
+        log.info("Batch booking finished: {} confirmed, {} failed",
+                bookings.size(), requests.size() - bookings.size());
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Reserves the seats of every remaining request on the flight in one call, which
+     * locks them and takes the passengers off the seat count together.
+     *
+     * @return the indexes that hold seats; every other index has a failed result.
+     */
+    private List<Integer> reserveForFlight(
+            String flightId,
+            List<Integer> indexes,
+            List<BookingRequest> requests,
+            BatchBookingResult[] results
+    ) {
+        List<Integer> pending = rejectInBatchDuplicates(indexes, requests, results);
+        pending = rejectExistingBookings(flightId, pending, requests, results);
+
+        for (int attempt = 1; attempt <= MAX_RESERVE_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            try {
+                if (flightClient.reserveSeats(flightId, seatsOf(pending, requests))) {
+                    return pending;
+                }
+                failAll(pending, requests, results, "Not enough seats available on this flight");
+                return Collections.emptyList();
+
+            } catch (FeignException.Conflict e) {
+                Set<String> unavailable = unavailableSeats(e);
+                if (unavailable.isEmpty()) {
+                    break;
+                }
+                List<Integer> remaining = new ArrayList<>();
+                for (int i : pending) {
+                    if (Collections.disjoint(requests.get(i).getSeatNumbers(), unavailable)) {
+                        remaining.add(i);
+                    } else {
+                        results[i] = failed(i, requests.get(i),
+                                "Seats unavailable: " + unavailable);
+                    }
+                }
+                pending = remaining;
+
+            } catch (RuntimeException e) {
+                log.warn("Seat reservation failed for flight {}: {}", flightId, e.getMessage());
+                failAll(pending, requests, results, "Flight Service DOWN");
+                return Collections.emptyList();
+            }
+        }
+
+        failAll(pending, requests, results, "Seats are no longer available");
+        return Collections.emptyList();
+    }
+
+    // One booking per user per flight, and no seat twice, within the batch itself.
+    private List<Integer> rejectInBatchDuplicates(
+            List<Integer> indexes,
+            List<BookingRequest> requests,
+            BatchBookingResult[] results
+    ) {
+        Set<String> emails = new HashSet<>();
+        Set<String> seats = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>(indexes.size());
+
+        for (int i : indexes) {
+            BookingRequest req = requests.get(i);
+
+            if (!emails.add(req.getEmail())) {
+                results[i] = failed(i, req, "Duplicate booking for this user and flight in batch");
+            } else if (!Collections.disjoint(seats, req.getSeatNumbers())) {
+                emails.remove(req.getEmail());
+                results[i] = failed(i, req, "Seat requested twice in batch");
+            } else {
+                seats.addAll(req.getSeatNumbers());
+                accepted.add(i);
+            }
+        }
+        return accepted;
+    }
+
+    private List<Integer> rejectExistingBookings(
+            String flightId,
+            List<Integer> indexes,
+            List<BookingRequest> requests,
+            BatchBookingResult[] results
+    ) {
+        if (indexes.isEmpty()) {
+            return indexes;
+        }
+
+        Set<String> emails = new HashSet<>();
+        for (int i : indexes) {
+            emails.add(requests.get(i).getEmail());
+        }
+
+        Set<String> booked = new HashSet<>();
+        for (Booking existing : bookingRepository.findByFlightIdAndEmailIn(flightId, emails)) {
+            booked.add(existing.getEmail());
+        }
+
+        if (booked.isEmpty()) {
+            return indexes;
+        }
+
+        List<Integer> accepted = new ArrayList<>(indexes.size());
+        for (int i : indexes) {
+            if (booked.contains(requests.get(i).getEmail())) {
+                results[i] = failed(i, requests.get(i),
+                        "Booking already exists for this user and flight");
+            } else {
+                accepted.add(i);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Ids are assigned up front so a partly applied insert can be undone by id
+     * before the reserved seats are handed back.
+     */
+    private boolean insert(
+            List<Booking> bookings,
+            Map<String, List<Integer>> reserved,
+            List<BookingRequest> requests
+    ) {
+        try {
+            bookingRepository.insert(bookings);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Bulk insert of {} bookings failed", bookings.size(), e);
+        }
+
+        List<String> ids = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            ids.add(booking.getId());
+        }
+        try {
+            bookingRepository.deleteAllById(ids);
+        } catch (RuntimeException e) {
+            log.error("Could not remove partly inserted bookings {}", ids, e);
+        }
+
+        for (Map.Entry<String, List<Integer>> group : reserved.entrySet()) {
+            int passengers = 0;
+            for (int i : group.getValue()) {
+                passengers += requests.get(i).getPassengerCount();
+            }
+            releaseQuietly(group.getKey(), seatsOf(group.getValue(), requests));
+            try {
+                flightClient.increaseSeats(group.getKey(), passengers);
+            } catch (RuntimeException e) {
+                log.error("Could not restore {} seats on flight {}", passengers, group.getKey(), e);
+            }
+        }
+        return false;
+    }
+
+    private Set<String> unavailableSeats(FeignException.Conflict e) {
+        Set<String> seats = new LinkedHashSet<>();
+        try {
+            JsonNode body = mapper.readTree(e.contentUTF8());
+            JsonNode node = body == null ? null : body.get("seats");
+            if (node != null && node.isArray()) {
+                node.forEach(seat -> seats.add(seat.asText()));
+            }
+        } catch (Exception parseError) {
+            log.warn("Unreadable seat conflict response: {}", parseError.getMessage());
+        }
+        return seats;
+    }
+
+    private void releaseQuietly(String flightId, List<String> seats) {
+        try {
+            flightClient.releaseSeats(flightId, seats);
+        } catch (RuntimeException e) {
+            log.error("Could not release seats {} on flight {}", seats, flightId, e);
+        }
+    }
+
+    private static String validate(BookingRequest req) {
+        if (req == null) {
+            return "Booking request is empty";
+        }
+        if (req.getFlightId() == null || req.getEmail() == null) {
+            return "Flight id and email are required";
+        }
+        if (req.getSeatNumbers() == null || req.getSeatNumbers().isEmpty()) {
+            return "At least one seat must be requested";
+        }
+        //  passenger ↔ seat count
+        if (req.getPassengerCount() != req.getSeatNumbers().size()) {
+            return "Passenger count must match seat count";
+        }
+        //  no duplicate seats
+        if (new HashSet<>(req.getSeatNumbers()).size() != req.getSeatNumbers().size()) {
+            return "Duplicate seat selection is not allowed";
+        }
+        return null;
+    }
+
+    private static List<String> seatsOf(List<Integer> indexes, List<BookingRequest> requests) {
+        List<String> seats = new ArrayList<>();
+        for (int i : indexes) {
+            seats.addAll(requests.get(i).getSeatNumbers());
+        }
+        return seats;
+    }
+
+    private static Booking toBooking(BookingRequest req) {
+        Booking booking = new Booking();
+        booking.setId(new ObjectId().toHexString());
+        booking.setPnr(PnrGenerator.generate());
+        booking.setFlightId(req.getFlightId());
+        booking.setPassengerName(req.getPassengerName());
+        booking.setEmail(req.getEmail());
+        booking.setPassengerCount(req.getPassengerCount());
+        booking.setSeatNumbers(req.getSeatNumbers());
+        booking.setStatus(CONFIRMED);
+        booking.setBookingDate(new Date());
+        booking.queueEmail(new EmailNotification(
+                booking.getEmail(),
+                "Booking Confirmed",
+                "PNR: " + booking.getPnr()
+                        + "\nSeats: " + booking.getSeatNumbers()
+        ));
+        return booking;
+    }
+
+    private static void failAll(
+            List<Integer> indexes,
+            List<BookingRequest> requests,
+            BatchBookingResult[] results,
+            String message
+    ) {
+        for (int i : indexes) {
+            results[i] = failed(i, requests.get(i), message);
+        }
+    }
+
+    private static BatchBookingResult failed(int index, BookingRequest req, String message) {
+        return new BatchBookingResult(
+                index,
+                FAILED,
+                null,
+                req == null ? null : req.getFlightId(),
+                req == null ? null : req.getEmail(),
+                req == null ? null : req.getSeatNumbers(),
+                message
+        );
+    }
+}
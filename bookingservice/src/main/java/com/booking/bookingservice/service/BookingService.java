@@ -1,6 +1,8 @@
 package com.booking.bookingservice.service;
 
 import com.booking.bookingservice.dto.BookingRequest;
+import com.booking.bookingservice.dto.BookingResponse;
+import com.booking.bookingservice.dto.CursorPage;
 import com.booking.bookingservice.dto.EmailNotification;
 import com.booking.bookingservice.dto.FlightInternalDTO;
 import com.booking.bookingservice.exception.BookingNotFoundException;
@@ -8,12 +10,14 @@ import com.booking.bookingservice.exception.CancellationNotAllowedException;
 import com.booking.bookingservice.exception.FlightServiceDownException;
 import com.booking.bookingservice.feign.FlightClient;
 import com.booking.bookingservice.model.Booking;
-import com.booking.bookingservice.producer.EmailProducer;
 import com.booking.bookingservice.repo.BookingRepository;
 import com.booking.bookingservice.util.PnrGenerator;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Service
 public class BookingService {
@@ -29,18 +34,20 @@ public class BookingService {
     private static final Logger log =
             LoggerFactory.getLogger(BookingService.class);
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final BookingRepository bookingRepository;
     private final FlightClient flightClient;
-    private final EmailProducer emailProducer;
+    private final FlightMetadataCache flightCache;
 
     public BookingService(
             BookingRepository bookingRepository,
             FlightClient flightClient,
-            EmailProducer emailProducer
+            FlightMetadataCache flightCache
     ) {
         this.bookingRepository = bookingRepository;
         this.flightClient = flightClient;
-        this.emailProducer = emailProducer;
+        this.flightCache = flightCache;
     }
 
 
@@ -78,26 +85,16 @@ public class BookingService {
                     );
                 });
 
-        // lock seats (authoritative)
-        flightClient.lockSeats(
+        // lock seats and reduce available seat count (authoritative)
+        boolean reserved = flightClient.reserveSeats(
                 req.getFlightId(),
                 req.getSeatNumbers()
         );
 
-        // Reduce available seat count
-        boolean reduced = flightClient.reduceSeats(
-                req.getFlightId(),
-                req.getPassengerCount()
-        );
-
-        if (!reduced) {
-            // rollback seat lock
-            flightClient.releaseSeats(
-                    req.getFlightId(),
-                    req.getSeatNumbers()
-            );
-            throw new FlightServiceDownException(
-                    "Flight Service DOWN"
+        // false is flightservice's answer, not an outage: the fallback throws instead
+        if (!reserved) {
+            throw new IllegalStateException(
+                    "Not enough seats available on this flight"
             );
         }
 
@@ -111,10 +108,7 @@ public class BookingService {
         booking.setSeatNumbers(req.getSeatNumbers());
         booking.setStatus("CONFIRMED");
         booking.setBookingDate(new Date());
-
-        bookingRepository.save(booking);
-
-        emailProducer.sendEmail(
+        booking.queueEmail(
                 new EmailNotification(
                         booking.getEmail(),
                         "Booking Confirmed",
@@ -123,6 +117,9 @@ public class BookingService {
                 )
         );
 
+        // Booking and its confirmation email are written together
+        bookingRepository.save(booking);
+
         return booking;
     }
    
@@ -169,20 +166,19 @@ public class BookingService {
         );
 
         booking.setStatus("CANCELLED");
-        bookingRepository.save(booking);
-
-        flightClient.increaseSeats(
-                booking.getFlightId(),
-                booking.getPassengerCount()
-        );
-
-        emailProducer.sendEmail(
+        booking.queueEmail(
                 new EmailNotification(
                         booking.getEmail(),
                         "Booking Cancelled",
                         "PNR: " + booking.getPnr()
                 )
         );
+        bookingRepository.save(booking);
+
+        flightClient.increaseSeats(
+                booking.getFlightId(),
+                booking.getPassengerCount()
+        );
 
         return booking;
     }
@@ -203,7 +199,7 @@ public class BookingService {
         }
 
         FlightInternalDTO flight =
-                flightClient.getFlightById(
+                flightCache.getFlight(
                         booking.getFlightId()
                 );
 
@@ -236,20 +232,19 @@ public class BookingService {
         );
 
         booking.setStatus("CANCELLED");
-        bookingRepository.save(booking);
-
-        flightClient.increaseSeats(
-                booking.getFlightId(),
-                booking.getPassengerCount()
-        );
-
-        emailProducer.sendEmail(
+        booking.queueEmail(
                 new EmailNotification(
                         booking.getEmail(),
                         "Booking Cancelled",
                         "PNR: " + booking.getPnr()
                 )
         );
+        bookingRepository.save(booking);
+
+        flightClient.increaseSeats(
+                booking.getFlightId(),
+                booking.getPassengerCount()
+        );
 
         return booking;
     }
@@ -270,6 +265,13 @@ public class BookingService {
                 );
     }
 
+    public BookingResponse getBookingResponseByPnr(String pnr) {
+        return bookingRepository.findResponseByPnr(pnr)
+                .orElseThrow(() ->
+                        new BookingNotFoundException("PNR: " + pnr)
+                );
+    }
+
     public List<Booking> getBookingsByEmail(String email) {
         return bookingRepository.findByEmail(email);
     }
@@ -277,4 +279,22 @@ public class BookingService {
     public List<Booking> getAllBookings() {
         return bookingRepository.findAll();
     }
+
+    public CursorPage<Booking> getBookingsPage(String after, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Pageable page = PageRequest.of(0, pageSize, Sort.by("id"));
+
+        List<Booking> bookings = after == null
+                ? bookingRepository.findAllBy(page)
+                : bookingRepository.findByIdGreaterThan(after, page);
+
+        String nextCursor = bookings.size() == pageSize
+                ? bookings.get(bookings.size() - 1).getId()
+                : null;
+        return new CursorPage<>(bookings, nextCursor);
+    }
+
+    public Stream<Booking> streamAllBookings() {
+        return bookingRepository.streamAllBy();
+    }
 }
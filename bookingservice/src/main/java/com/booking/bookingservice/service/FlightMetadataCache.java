@@ -0,0 +1,47 @@
+package com.booking.bookingservice.service;
+
+import com.booking.bookingservice.dto.FlightInternalDTO;
+import com.booking.bookingservice.feign.FlightClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Local copy of flight schedule data (date, route) read through {@link FlightClient}.
+ * Entries are dropped when flightservice announces a change on the flight.changes
+ * exchange, and expire after the TTL in case an event is missed. Seat counts in the
+ * cached DTO are not kept current and must not be relied on.
+ */
+@Component
+public class FlightMetadataCache {
+
+    private final FlightClient flightClient;
+    private final Cache<String, FlightInternalDTO> cache;
+
+    public FlightMetadataCache(
+            FlightClient flightClient,
+            @Value("${booking.flight-cache.maximum-size:10000}") long maximumSize,
+            @Value("${booking.flight-cache.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.flightClient = flightClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * @return the flight, or {@code null} when flightservice could not provide it
+     *         (nothing is cached in that case)
+     */
+    public FlightInternalDTO getFlight(String flightId) {
+        return cache.get(flightId, flightClient::getFlightById);
+    }
+
+    public void invalidate(String flightId) {
+        cache.invalidate(flightId);
+    }
+}
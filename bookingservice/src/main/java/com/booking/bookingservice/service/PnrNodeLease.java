@@ -0,0 +1,146 @@
+package com.booking.bookingservice.service;
+
+import com.booking.bookingservice.model.PnrNode;
+import com.booking.bookingservice.util.PnrGenerator;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Gives this instance a PNR node id nobody else holds, and persists the seconds the
+ * generator reserves under it.
+ * <p>
+ * With booking.pnr.node-id unset (-1) the first free id is leased; with an explicit
+ * id, startup fails if another live instance holds it. The lease is renewed in the
+ * background and lapses lease-seconds after the instance stops.
+ */
+@Service
+public class PnrNodeLease {
+
+    private static final Logger log = LoggerFactory.getLogger(PnrNodeLease.class);
+
+    // Seconds reserved per write; one write a minute while the clock leads.
+    private static final long RESERVE_WINDOW_SECONDS = 60;
+
+    private final MongoTemplate mongoTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    @Value("${booking.pnr.node-id:-1}")
+    private int configuredNodeId = -1;
+
+    @Value("${booking.pnr.lease-seconds:60}")
+    private long leaseSeconds = 60;
+
+    private volatile int nodeId = -1;
+
+    public PnrNodeLease(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @PostConstruct
+    void acquire() {
+        PnrNode node = configuredNodeId >= 0 ? claim(configuredNodeId) : claimFirstFree();
+
+        if (node == null) {
+            throw new IllegalStateException(configuredNodeId >= 0
+                    ? "PNR node id " + configuredNodeId + " is held by another bookingservice instance"
+                    : "All " + (PnrGenerator.MAX_NODE_ID + 1) + " PNR node ids are leased");
+        }
+
+        nodeId = node.getId();
+        PnrGenerator.setNodeId(nodeId);
+        PnrGenerator.resume(node.getReservedSecond(), this::reserveThrough);
+        log.info("PNR generator node id {}, resuming after second {}", nodeId, node.getReservedSecond());
+    }
+
+    private PnrNode claimFirstFree() {
+        for (int id = 0; id <= PnrGenerator.MAX_NODE_ID; id++) {
+            PnrNode node = claim(id);
+            if (node != null) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    // Null when another owner's lease is still live.
+    private PnrNode claim(int id) {
+        Date now = new Date();
+        Query query = Query.query(Criteria.where("_id").is(id)
+                .orOperator(
+                        Criteria.where("leaseUntil").lt(now),
+                        Criteria.where("owner").is(owner)));
+
+        Update update = new Update()
+                .set("owner", owner)
+                .set("leaseUntil", leaseEnd(now))
+                .setOnInsert("reservedSecond", 0L);
+
+        try {
+            return mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), PnrNode.class);
+        } catch (DuplicateKeyException e) {
+            // The id exists and its lease has not run out
+            return null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.pnr.lease-renew-ms:15000}")
+    void renew() {
+        if (nodeId < 0) {
+            return;
+        }
+        UpdateResult result = mongoTemplate.updateFirst(
+                ownQuery(),
+                new Update().set("leaseUntil", leaseEnd(new Date())),
+                PnrNode.class);
+
+        if (result.getMatchedCount() == 0) {
+            // Reservations now fail, so bookings stop rather than risk duplicate PNRs
+            log.error("Lost the lease on PNR node id {}", nodeId);
+        }
+    }
+
+    long reserveThrough(long seconds) {
+        long through = seconds + RESERVE_WINDOW_SECONDS;
+        UpdateResult result = mongoTemplate.updateFirst(
+                ownQuery(),
+                new Update().max("reservedSecond", through),
+                PnrNode.class);
+
+        if (result.getMatchedCount() == 0) {
+            throw new IllegalStateException("PNR node id " + nodeId + " is no longer leased by this instance");
+        }
+        return through;
+    }
+
+    // Lets a restarted instance take the id over at once.
+    @PreDestroy
+    void release() {
+        if (nodeId >= 0) {
+            mongoTemplate.updateFirst(ownQuery(), new Update().set("leaseUntil", new Date(0)), PnrNode.class);
+        }
+    }
+
+    private Query ownQuery() {
+        return Query.query(Criteria.where("_id").is(nodeId).and("owner").is(owner));
+    }
+
+    private Date leaseEnd(Date now) {
+        return new Date(now.getTime() + leaseSeconds * 1000);
+    }
+}
@@ -0,0 +1,93 @@
+package com.booking.bookingservice.service;
+
+import com.booking.bookingservice.dto.BookingRequest;
+import com.booking.bookingservice.dto.EmailNotification;
+import com.booking.bookingservice.feign.ReactiveFlightClient;
+import com.booking.bookingservice.model.Booking;
+import com.booking.bookingservice.repo.ReactiveBookingRepository;
+import com.booking.bookingservice.util.PnrGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.HashSet;
+
+/**
+ * Same booking rules as {@link BookingService#bookTicket}, composed as one
+ * non-blocking chain: no thread is held while flightservice or Mongo respond. The
+ * confirmation email is saved in the booking's outbox and published by OutboxRelay.
+ */
+@Service
+@ConditionalOnProperty(name = "booking.reactive.enabled", havingValue = "true")
+public class ReactiveBookingService {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(ReactiveBookingService.class);
+
+    private final ReactiveBookingRepository bookingRepository;
+    private final ReactiveFlightClient flightClient;
+
+    public ReactiveBookingService(
+            ReactiveBookingRepository bookingRepository,
+            ReactiveFlightClient flightClient
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.flightClient = flightClient;
+    }
+
+    public Mono<Booking> bookTicket(BookingRequest req) {
+
+        log.info("Reactive booking request for flight {} with seats {}",
+                req.getFlightId(), req.getSeatNumbers());
+
+        //  passenger ↔ seat count
+        if (req.getSeatNumbers() == null
+                || req.getPassengerCount() != req.getSeatNumbers().size()) {
+            return Mono.error(new IllegalArgumentException(
+                    "Passenger count must match seat count"
+            ));
+        }
+
+        //  no duplicate seats
+        if (new HashSet<>(req.getSeatNumbers()).size()
+                != req.getSeatNumbers().size()) {
+            return Mono.error(new IllegalArgumentException(
+                    "Duplicate seat selection is not allowed"
+            ));
+        }
+
+        return bookingRepository
+                .existsByFlightIdAndEmail(req.getFlightId(), req.getEmail())
+                .flatMap(exists -> exists
+                        //one booking per user per flight
+                        ? Mono.<Boolean>error(new IllegalStateException(
+                                "Booking already exists for this user and flight"))
+                        // lock seats and reduce available seat count (authoritative)
+                        : flightClient.reserveSeats(req.getFlightId(), req.getSeatNumbers()))
+                .flatMap(reserved -> reserved
+                        ? bookingRepository.save(newBooking(req))
+                        : Mono.error(new IllegalStateException("Not enough seats available on this flight")));
+    }
+
+    private static Booking newBooking(BookingRequest req) {
+        Booking booking = new Booking();
+        booking.setPnr(PnrGenerator.generate());
+        booking.setFlightId(req.getFlightId());
+        booking.setPassengerName(req.getPassengerName());
+        booking.setEmail(req.getEmail());
+        booking.setPassengerCount(req.getPassengerCount());
+        booking.setSeatNumbers(req.getSeatNumbers());
+        booking.setStatus("CONFIRMED");
+        booking.setBookingDate(new Date());
+        booking.queueEmail(new EmailNotification(
+                booking.getEmail(),
+                "Booking Confirmed",
+                "PNR: " + booking.getPnr()
+                        + "\nSeats: " + booking.getSeatNumbers()
+        ));
+        return booking;
+    }
+}
@@ -1,20 +1,158 @@
 package com.booking.bookingservice.util;
 
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
-import lombok.Data;
-@Data
-public class PnrGenerator {
+/**
+ * Generates PNRs as {@code PNR-} plus 10 Crockford base-32 characters (50 bits):
+ * <pre>
+ *   31 bits  seconds since 2025-01-01T00:00Z (good until 2093)
+ *    7 bits  node id, unique per bookingservice instance (booking.pnr.node-id)
+ *   12 bits  sequence within the second (4096 PNRs per second per node)
+ * </pre>
+ * The (second, sequence) pair only ever moves forward, so a node never repeats a
+ * value and two nodes never collide, without asking the database. When a second's
+ * sequence is used up the generator borrows the next second instead of waiting.
+ * <p>
+ * With a {@link Reservation}, seconds are only handed out once they have been
+ * recorded as reserved, and a restart resumes after the last reserved second. A
+ * restarted node therefore never reuses borrowed seconds, or seconds it already
+ * used before a clock step back.
+ */
+public final class PnrGenerator {
+
+    private static final String PREFIX = "PNR-";
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int CODE_LENGTH = 10;
+
+    private static final long EPOCH_SECONDS = 1_735_689_600L; // 2025-01-01T00:00:00Z
+
+    static final int NODE_BITS = 7;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long SECONDS_MASK = (1L << 31) - 1;
+
+    // seconds << SEQUENCE_BITS | sequence of the last PNR handed out
+    private static final AtomicLong STATE = new AtomicLong();
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> {
+        char[] buffer = new char[PREFIX.length() + CODE_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), buffer, 0);
+        return buffer;
+    });
+
+    private static volatile int nodeId;
+
+    /**
+     * Durably records that seconds up to the returned value (at least the given
+     * one) may be handed out by this node.
+     */
+    @FunctionalInterface
+    public interface Reservation {
+        long reserveThrough(long seconds);
+    }
+
+    private static volatile Reservation reservation;
+    private static volatile long reservedThrough = Long.MAX_VALUE;
+
+    // A ReentrantLock rather than a monitor: reserving blocks on a Mongo write, and a
+    // virtual thread blocked inside synchronized would pin its carrier.
+    private static final ReentrantLock RESERVE_LOCK = new ReentrantLock();
 
     private PnrGenerator() {
        
     }
 
+    public static void setNodeId(int id) {
+        if (id < 0 || id > MAX_NODE_ID) {
+            throw new IllegalArgumentException(
+                    "PNR node id must be between 0 and " + MAX_NODE_ID + " but was " + id);
+        }
+        nodeId = id;
+    }
+
+    public static int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Continues after {@code issuedThrough}, the last second this node id may have
+     * used, and reserves further seconds through {@code reservation}.
+     */
+    public static void resume(long issuedThrough, Reservation reservation) {
+        RESERVE_LOCK.lock();
+        try {
+            STATE.accumulateAndGet((issuedThrough << SEQUENCE_BITS) | SEQUENCE_MASK, Math::max);
+            PnrGenerator.reservation = reservation;
+            reservedThrough = issuedThrough;
+        } finally {
+            RESERVE_LOCK.unlock();
+        }
+    }
+
+    static void clearReservation() {
+        RESERVE_LOCK.lock();
+        try {
+            reservation = null;
+            reservedThrough = Long.MAX_VALUE;
+        } finally {
+            RESERVE_LOCK.unlock();
+        }
+    }
+
     public static String generate() {
-        return "PNR-" + UUID.randomUUID()
-                .toString()
-                .replace("-", "")
-                .substring(0, 8)
-                .toUpperCase();
+        long state = next(System.currentTimeMillis() / 1000 - EPOCH_SECONDS);
+        return encode(state >>> SEQUENCE_BITS, nodeId, state & SEQUENCE_MASK);
+    }
+
+    static long next(long nowSeconds) {
+        while (true) {
+            long previous = STATE.get();
+            long seconds = previous >>> SEQUENCE_BITS;
+            long sequence = previous & SEQUENCE_MASK;
+
+            long next;
+            if (nowSeconds > seconds) {
+                next = nowSeconds << SEQUENCE_BITS;
+            } else if (sequence < SEQUENCE_MASK) {
+                next = previous + 1;               // same second, or clock moved back
+            } else {
+                next = (seconds + 1) << SEQUENCE_BITS;   // borrow the next second
+            }
+
+            if ((next >>> SEQUENCE_BITS) > reservedThrough) {
+                reserve(next >>> SEQUENCE_BITS);
+            }
+
+            if (STATE.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+
+    // Once a minute or so under normal load; callers wait for the write.
+    private static void reserve(long seconds) {
+        RESERVE_LOCK.lock();
+        try {
+            if (seconds > reservedThrough) {
+                reservedThrough = reservation.reserveThrough(seconds);
+            }
+        } finally {
+            RESERVE_LOCK.unlock();
+        }
+    }
+
+    static String encode(long seconds, int node, long sequence) {
+        long value = ((seconds & SECONDS_MASK) << (NODE_BITS + SEQUENCE_BITS))
+                | ((long) node << SEQUENCE_BITS)
+                | sequence;
+
+        char[] buffer = BUFFER.get();
+        for (int i = buffer.length - 1; i >= PREFIX.length(); i--) {
+            buffer[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(buffer);
     }
 }
@@ -0,0 +1,110 @@
+package com.booking.bookingservice.consumer;
+
+import com.booking.bookingservice.config.EmailBatchConfig;
+import com.booking.bookingservice.dto.EmailNotification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BatchEmailConsumerTest {
+
+    private JavaMailSender mailSender;
+    private RabbitTemplate rabbitTemplate;
+    private SimpleMeterRegistry registry;
+    private BatchEmailConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = mock(JavaMailSender.class);
+        rabbitTemplate = mock(RabbitTemplate.class);
+        registry = new SimpleMeterRegistry();
+
+        consumer = new BatchEmailConsumer(mailSender, rabbitTemplate, new ObjectMapper(), registry);
+    }
+
+
+    @Test
+    void testReceive_WholeBatchInOneSend() {
+
+        List<Integer> sendSizes = new ArrayList<>();
+        // Varargs are expanded in the invocation arguments
+        doAnswer(inv -> sendSizes.add(inv.getArguments().length))
+                .when(mailSender).send(any(SimpleMailMessage[].class));
+
+        consumer.receive(List.of(message("a@x.com", null), message("b@x.com", null)));
+
+        assertEquals(List.of(2), sendSizes);
+        verifyNoInteractions(rabbitTemplate);
+        assertEquals(2, registry.get("booking.email.sent").tag("result", "sent").counter().count());
+    }
+
+    @Test
+    void testReceive_FailedMessageGoesToRetryQueue() {
+
+        doAnswer(inv -> {
+            Object second = inv.getArguments()[1];
+            throw new MailSendException(Map.<Object, Exception>of(second, new RuntimeException("mailbox full")));
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        consumer.receive(List.of(message("a@x.com", null), message("b@x.com", null)));
+
+        ArgumentCaptor<Message> retried = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq(""), eq(EmailBatchConfig.retryQueue(1)), retried.capture());
+        assertEquals(1, (int) retried.getValue().getMessageProperties()
+                .getHeader(BatchEmailConsumer.ATTEMPT_HEADER));
+        assertEquals(1, registry.get("booking.email.sent").tag("result", "sent").counter().count());
+    }
+
+    @Test
+    void testReceive_LastAttemptIsDeadLettered() {
+
+        doThrow(new MailSendException("SMTP down"))
+                .when(mailSender).send(any(SimpleMailMessage[].class));
+
+        consumer.receive(List.of(message("a@x.com", 3)));
+
+        verify(rabbitTemplate).send(eq(""), eq(EmailBatchConfig.DEAD_LETTER_QUEUE), any(Message.class));
+    }
+
+    @Test
+    void testReceive_UnreadableMessageIsDeadLettered() {
+
+        Message garbage = new Message("not json".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        consumer.receive(List.of(garbage));
+
+        verifyNoInteractions(mailSender);
+        verify(rabbitTemplate).send(eq(""), eq(EmailBatchConfig.DEAD_LETTER_QUEUE), same(garbage));
+    }
+
+    private static Message message(String to, Integer attempt) {
+        MessageProperties props = new MessageProperties();
+        if (attempt != null) {
+            props.setHeader(BatchEmailConsumer.ATTEMPT_HEADER, attempt);
+        }
+        try {
+            byte[] body = new ObjectMapper().writeValueAsBytes(
+                    new EmailNotification(to, "Booking Confirmed", "PNR"));
+            return new Message(body, props);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
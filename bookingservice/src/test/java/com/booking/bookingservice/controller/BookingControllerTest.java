@@ -4,9 +4,11 @@ import com.booking.bookingservice.dto.BookingRequest;
 import com.booking.bookingservice.dto.BookingResponse;
 import com.booking.bookingservice.exception.GlobalExceptionHandler;
 import com.booking.bookingservice.model.Booking;
+import com.booking.bookingservice.service.BatchBookingService;
 import com.booking.bookingservice.service.BookingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -20,7 +22,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Date;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -42,6 +46,9 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BatchBookingService batchBookingService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -132,4 +139,79 @@ class BookingControllerTest {
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(content().string("Flight Service is DOWN"));
     }
+
+
+    @Test
+    void testGetBookingByPnr_OwnerOnly() throws Exception {
+
+        BookingResponse booking = new BookingResponse(
+                "PNR777", "FL777", "Asha", "asha@mail.com",
+                1, List.of("C3"), "CONFIRMED", new Date());
+
+        when(bookingService.getBookingResponseByPnr("PNR777")).thenReturn(booking);
+
+        mockMvc.perform(get("/booking/pnr/PNR777")
+                        .header("X-User-Email", "asha@mail.com")
+                        .header("X-User-Roles", "ROLE_USER"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pnr").value("PNR777"))
+                .andExpect(jsonPath("$.seatNumbers[0]").value("C3"));
+
+        mockMvc.perform(get("/booking/pnr/PNR777")
+                        .header("X-User-Email", "other@mail.com")
+                        .header("X-User-Roles", "ROLE_USER"))
+                .andExpect(status().isForbidden());
+    }
+
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testCreateBatch_UserCannotBookForOthers() throws Exception {
+
+        List<BookingRequest> requests = List.of(
+                new BookingRequest("FL1", "Asha", "victim@mail.com", 1, List.of("A1")),
+                new BookingRequest("FL1", "Ravi", null, 1, List.of("A2"))
+        );
+
+        when(batchBookingService.bookBatch(any())).thenReturn(List.of());
+
+        mockMvc.perform(post("/booking/batch")
+                        .header("X-User-Email", "user@mail.com")
+                        .header("X-User-Roles", "ROLE_USER")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<List<BookingRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchBookingService).bookBatch(captor.capture());
+
+        assertEquals("user@mail.com", captor.getValue().get(0).getEmail());
+        assertEquals("user@mail.com", captor.getValue().get(1).getEmail());
+    }
+
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testCreateBatch_AgentBooksForPassengers() throws Exception {
+
+        List<BookingRequest> requests = List.of(
+                new BookingRequest("FL1", "Asha", "asha@mail.com", 1, List.of("A1")),
+                new BookingRequest("FL1", "Ravi", null, 1, List.of("A2"))
+        );
+
+        when(batchBookingService.bookBatch(any())).thenReturn(List.of());
+
+        mockMvc.perform(post("/booking/batch")
+                        .header("X-User-Email", "agent@mail.com")
+                        .header("X-User-Roles", "ROLE_AGENT")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<List<BookingRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchBookingService).bookBatch(captor.capture());
+
+        assertEquals("asha@mail.com", captor.getValue().get(0).getEmail());
+        assertEquals("agent@mail.com", captor.getValue().get(1).getEmail());
+    }
 }
@@ -0,0 +1,64 @@
+package com.booking.bookingservice.controller;
+
+import com.booking.bookingservice.model.Booking;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonBodyTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static Booking booking(String id) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        return booking;
+    }
+
+
+    @Test
+    void testOf_WritesOneJsonValuePerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        NdjsonBody.of(mapper, () -> Stream.of(booking("a1"), booking("b2"))).writeTo(out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("a1", mapper.readTree(lines[0]).get("id").asText());
+        assertEquals("b2", mapper.readTree(lines[1]).get("id").asText());
+    }
+
+    @Test
+    void testOf_StreamIsOpenedLazilyAndClosed() throws Exception {
+        AtomicBoolean opened = new AtomicBoolean();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        StreamingResponseBody body = NdjsonBody.of(mapper, () -> {
+            opened.set(true);
+            return Stream.of(booking("a1")).onClose(() -> closed.set(true));
+        });
+        assertFalse(opened.get());
+
+        body.writeTo(new ByteArrayOutputStream());
+
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testOf_EmptyStreamWritesNothing() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        NdjsonBody.of(mapper, Stream::<Booking>empty).writeTo(out);
+
+        assertEquals(0, out.size());
+    }
+}
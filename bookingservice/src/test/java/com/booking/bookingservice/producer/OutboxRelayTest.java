@@ -0,0 +1,111 @@
+package com.booking.bookingservice.producer;
+
+import com.booking.bookingservice.dto.EmailNotification;
+import com.booking.bookingservice.model.Booking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private MongoTemplate mongoTemplate;
+    private EmailProducer emailProducer;
+    private BulkOperations bulkOps;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        emailProducer = mock(EmailProducer.class);
+        bulkOps = mock(BulkOperations.class, RETURNS_SELF);
+
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Booking.class)))
+                .thenReturn(bulkOps);
+
+        relay = new OutboxRelay(mongoTemplate, emailProducer);
+    }
+
+
+    @Test
+    void testRelayBatch_PublishesThenRemovesMessages() {
+
+        when(mongoTemplate.find(any(Query.class), eq(Booking.class)))
+                .thenReturn(List.of(candidate("B1"), candidate("B2")))
+                .thenReturn(List.of(pending("B1", 2), pending("B2", 1)));
+
+        assertEquals(2, relay.relayBatch());
+
+        verify(emailProducer).sendEmails(argThat(e -> e.size() == 3), anyLong());
+        verify(bulkOps, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOps).execute();
+    }
+
+    @Test
+    void testRelayBatch_UnconfirmedPublishKeepsOutbox() {
+
+        when(mongoTemplate.find(any(Query.class), eq(Booking.class)))
+                .thenReturn(List.of(candidate("B1")))
+                .thenReturn(List.of(pending("B1", 1)));
+        doThrow(new AmqpTimeoutException("no confirm"))
+                .when(emailProducer).sendEmails(anyList(), anyLong());
+
+        assertThrows(AmqpTimeoutException.class, () -> relay.relayBatch());
+
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Booking.class));
+        // claim + release, so the next run can retry straight away
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(Update.class), eq(Booking.class));
+    }
+
+    @Test
+    void testRelayBatch_ClaimedByAnotherInstanceIsSkipped() {
+
+        // candidate found, but another instance claimed it before our update
+        when(mongoTemplate.find(any(Query.class), eq(Booking.class)))
+                .thenReturn(List.of(candidate("B1")))
+                .thenReturn(List.of());
+
+        assertEquals(0, relay.relayBatch());
+
+        ArgumentCaptor<Query> claim = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateMulti(claim.capture(), any(Update.class), eq(Booking.class));
+        assertTrue(claim.getValue().getQueryObject().toJson().contains("outboxClaimedUntil"));
+        verify(emailProducer, never()).sendEmails(anyList(), anyLong());
+    }
+
+    @Test
+    void testRelay_NothingPending() {
+
+        when(mongoTemplate.find(any(Query.class), eq(Booking.class)))
+                .thenReturn(List.of());
+
+        relay.relay();
+
+        verify(emailProducer, never()).sendEmails(anyList(), anyLong());
+    }
+
+    private static Booking candidate(String id) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        return booking;
+    }
+
+    private static Booking pending(String id, int emails) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        for (int i = 0; i < emails; i++) {
+            booking.queueEmail(new EmailNotification("a@x.com", "Booking Confirmed", "PNR"));
+        }
+        return booking;
+    }
+}
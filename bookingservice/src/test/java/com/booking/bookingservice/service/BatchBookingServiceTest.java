@@ -0,0 +1,128 @@
+package com.booking.bookingservice.service;
+
+import com.booking.bookingservice.dto.BatchBookingResult;
+import com.booking.bookingservice.dto.BookingRequest;
+import com.booking.bookingservice.feign.FlightClient;
+import com.booking.bookingservice.model.Booking;
+import com.booking.bookingservice.repo.BookingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BatchBookingServiceTest {
+
+    private BookingRepository bookingRepository;
+    private FlightClient flightClient;
+    private BatchBookingService batchService;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        flightClient = mock(FlightClient.class);
+
+        batchService = new BatchBookingService(
+                bookingRepository, flightClient, new ObjectMapper());
+    }
+
+
+    @Test
+    void testBookBatch_OneReservationPerFlight() {
+
+        List<BookingRequest> requests = List.of(
+                new BookingRequest("FL1", "A", "a@x.com", 2, List.of("1A", "1B")),
+                new BookingRequest("FL2", "B", "b@x.com", 1, List.of("2A")),
+                new BookingRequest("FL1", "C", "c@x.com", 1, List.of("3A"))
+        );
+
+        when(flightClient.reserveSeats(anyString(), anyList())).thenReturn(true);
+
+        List<BatchBookingResult> results = batchService.bookBatch(requests);
+
+        assertEquals(3, results.size());
+        results.forEach(r -> assertEquals("CONFIRMED", r.getStatus()));
+
+        verify(flightClient).reserveSeats("FL1", List.of("1A", "1B", "3A"));
+        verify(flightClient).reserveSeats("FL2", List.of("2A"));
+        verify(flightClient, never()).lockSeats(anyString(), anyList());
+        verify(flightClient, never()).reduceSeats(anyString(), anyInt());
+        verify(bookingRepository, times(1)).insert(argThat((List<Booking> b) ->
+                b.size() == 3 && b.stream().allMatch(booking -> booking.getOutbox().size() == 1)));
+    }
+
+    @Test
+    void testBookBatch_SeatConflictFailsOnlyAffectedItems() {
+
+        List<BookingRequest> requests = List.of(
+                new BookingRequest("FL1", "A", "a@x.com", 1, List.of("1A")),
+                new BookingRequest("FL1", "B", "b@x.com", 1, List.of("1B"))
+        );
+
+        when(flightClient.reserveSeats("FL1", List.of("1A", "1B")))
+                .thenThrow(conflict("{\"message\":\"taken\",\"seats\":[\"1A\"]}"));
+        when(flightClient.reserveSeats("FL1", List.of("1B"))).thenReturn(true);
+
+        List<BatchBookingResult> results = batchService.bookBatch(requests);
+
+        assertEquals("FAILED", results.get(0).getStatus());
+        assertEquals("CONFIRMED", results.get(1).getStatus());
+        verify(flightClient).reserveSeats("FL1", List.of("1B"));
+    }
+
+    @Test
+    void testBookBatch_ExistingBookingAndReservationRejected() {
+
+        List<BookingRequest> requests = List.of(
+                new BookingRequest("FL1", "A", "a@x.com", 1, List.of("1A")),
+                new BookingRequest("FL1", "B", "b@x.com", 1, List.of("1B"))
+        );
+
+        Booking existing = new Booking();
+        existing.setEmail("a@x.com");
+        when(bookingRepository.findByFlightIdAndEmailIn(eq("FL1"), anyCollection()))
+                .thenReturn(List.of(existing));
+        when(flightClient.reserveSeats("FL1", List.of("1B"))).thenReturn(false);
+
+        List<BatchBookingResult> results = batchService.bookBatch(requests);
+
+        assertEquals("FAILED", results.get(0).getStatus());
+        assertEquals("FAILED", results.get(1).getStatus());
+        assertEquals("Not enough seats available on this flight", results.get(1).getMessage());
+        verify(flightClient).reserveSeats("FL1", List.of("1B"));
+        verify(bookingRepository, never()).insert(anyList());
+    }
+
+    @Test
+    void testBookBatch_InvalidItemDoesNotFailBatch() {
+
+        List<BookingRequest> requests = List.of(
+                new BookingRequest("FL1", "A", "a@x.com", 2, List.of("1A")),
+                new BookingRequest("FL1", "B", "b@x.com", 1, List.of("1B"))
+        );
+
+        when(flightClient.reserveSeats("FL1", List.of("1B"))).thenReturn(true);
+
+        List<BatchBookingResult> results = batchService.bookBatch(requests);
+
+        assertEquals("FAILED", results.get(0).getStatus());
+        assertEquals("Passenger count must match seat count", results.get(0).getMessage());
+        assertEquals("CONFIRMED", results.get(1).getStatus());
+    }
+
+    private static FeignException.Conflict conflict(String body) {
+        Request request = Request.create(
+                Request.HttpMethod.POST, "/flights/internal/FL1/reserve",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        return new FeignException.Conflict(
+                "Conflict", request, body.getBytes(StandardCharsets.UTF_8), Map.of());
+    }
+}
@@ -1,17 +1,21 @@
 package com.booking.bookingservice.service;
 
 import com.booking.bookingservice.dto.BookingRequest;
-import com.booking.bookingservice.dto.EmailNotification;
+import com.booking.bookingservice.dto.CursorPage;
+import com.booking.bookingservice.dto.FlightInternalDTO;
 import com.booking.bookingservice.exception.BookingNotFoundException;
 import com.booking.bookingservice.exception.FlightServiceDownException;
 import com.booking.bookingservice.feign.FlightClient;
 import com.booking.bookingservice.model.Booking;
-import com.booking.bookingservice.producer.EmailProducer;
 import com.booking.bookingservice.repo.BookingRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.TestPropertySource;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,17 +31,16 @@ class BookingServiceTest {
 
     private BookingRepository bookingRepository;
     private FlightClient flightClient;
-    private EmailProducer emailProducer;
     private BookingService bookingService;
 
     @BeforeEach
     void setUp() {
         bookingRepository = mock(BookingRepository.class);
         flightClient = mock(FlightClient.class);
-        emailProducer = mock(EmailProducer.class);
 
         bookingService =
-                new BookingService(bookingRepository, flightClient, emailProducer);
+                new BookingService(bookingRepository, flightClient,
+                        new FlightMetadataCache(flightClient, 100, 600));
     }
 
 
@@ -52,18 +55,41 @@ class BookingServiceTest {
                 List.of("A1", "A2")
         );
 
-        when(flightClient.reduceSeats("FL123", 2)).thenReturn(true);
+        when(flightClient.reserveSeats("FL123", List.of("A1", "A2"))).thenReturn(true);
 
         Booking result = bookingService.bookTicket(request);
 
         assertEquals("CONFIRMED", result.getStatus());
         assertEquals(2, result.getSeatNumbers().size());
 
-        verify(bookingRepository, times(1)).save(any(Booking.class));
-        verify(emailProducer, times(1))
-                .sendEmail(any(EmailNotification.class));
+        // Confirmation email goes into the booking's outbox, saved with it
+        verify(bookingRepository, times(1)).save(argThat((Booking b) ->
+                b.getOutbox().size() == 1
+                        && "Booking Confirmed".equals(b.getOutbox().get(0).getEmail().getSubject())));
     }
 
+    @Test
+    void testBookTicket_NotEnoughSeats() {
+
+        BookingRequest request = new BookingRequest(
+                "FL123",
+                "John",
+                "john@gmail.com",
+                2,
+                List.of("A1", "A2")
+        );
+
+        when(flightClient.reserveSeats("FL123", List.of("A1", "A2"))).thenReturn(false);
+
+        IllegalStateException ex =
+                assertThrows(IllegalStateException.class,
+                        () -> bookingService.bookTicket(request));
+
+        assertEquals("Not enough seats available on this flight", ex.getMessage());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+
     @Test
     void testBookTicket_FlightServiceDown() {
 
@@ -75,7 +101,9 @@ class BookingServiceTest {
                 List.of("A1", "A2")
         );
 
-        when(flightClient.reduceSeats("FL123", 2)).thenReturn(false);
+        // FlightClientFallback
+        when(flightClient.reserveSeats("FL123", List.of("A1", "A2")))
+                .thenThrow(new FlightServiceDownException("Flight Service DOWN"));
 
         FlightServiceDownException ex =
                 assertThrows(FlightServiceDownException.class,
@@ -103,8 +131,9 @@ class BookingServiceTest {
 
         verify(flightClient, times(1))
                 .increaseSeats("FL123", 2);
-        verify(emailProducer, times(1))
-                .sendEmail(any(EmailNotification.class));
+        verify(bookingRepository, times(1)).save(argThat((Booking b) ->
+                b.getOutbox().size() == 1
+                        && "Booking Cancelled".equals(b.getOutbox().get(0).getEmail().getSubject())));
     }
 
     @Test
@@ -134,4 +163,61 @@ class BookingServiceTest {
         assertThrows(BookingNotFoundException.class,
                 () -> bookingService.cancelBooking("B404"));
     }
+
+    @Test
+    void testCancelBookingByPnr_FlightScheduleIsCached() {
+
+        FlightInternalDTO flight = new FlightInternalDTO();
+        flight.setId("FL123");
+        flight.setDate(LocalDate.now().plusDays(10).toString());
+        when(flightClient.getFlightById("FL123")).thenReturn(flight);
+
+        for (String pnr : List.of("PNR-1", "PNR-2")) {
+            Booking booking = new Booking();
+            booking.setPnr(pnr);
+            booking.setFlightId("FL123");
+            booking.setSeatNumbers(List.of("A1"));
+            booking.setPassengerCount(1);
+            booking.setStatus("CONFIRMED");
+            when(bookingRepository.findByPnr(pnr)).thenReturn(Optional.of(booking));
+        }
+
+        assertEquals("CANCELLED", bookingService.cancelBookingByPnr("PNR-1").getStatus());
+        assertEquals("CANCELLED", bookingService.cancelBookingByPnr("PNR-2").getStatus());
+
+        verify(flightClient, times(1)).getFlightById("FL123");
+    }
+
+    @Test
+    void testGetBookingsPage_KeysetCursor() {
+        when(bookingRepository.findAllBy(any(Pageable.class))).thenReturn(List.of(booking("a"), booking("b")));
+        when(bookingRepository.findByIdGreaterThan(eq("b"), any(Pageable.class))).thenReturn(List.of(booking("c")));
+
+        CursorPage<Booking> first = bookingService.getBookingsPage(null, 2);
+        assertEquals("b", first.getNextCursor());
+
+        CursorPage<Booking> last = bookingService.getBookingsPage(first.getNextCursor(), 2);
+        assertEquals(List.of("c"), last.getItems().stream().map(Booking::getId).toList());
+        assertNull(last.getNextCursor());
+
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(bookingRepository).findByIdGreaterThan(eq("b"), page.capture());
+        assertEquals(2, page.getValue().getPageSize());
+        assertEquals(Sort.by("id"), page.getValue().getSort());
+    }
+
+    @Test
+    void testGetBookingsPage_SizeIsClamped() {
+        bookingService.getBookingsPage(null, 50_000);
+
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(bookingRepository).findAllBy(page.capture());
+        assertEquals(1000, page.getValue().getPageSize());
+    }
+
+    private static Booking booking(String id) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        return booking;
+    }
 }
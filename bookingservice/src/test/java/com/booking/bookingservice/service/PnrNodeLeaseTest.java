@@ -0,0 +1,76 @@
+package com.booking.bookingservice.service;
+
+import com.booking.bookingservice.model.PnrNode;
+import com.booking.bookingservice.util.PnrGenerator;
+import com.mongodb.client.result.UpdateResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PnrNodeLeaseTest {
+
+    private MongoTemplate mongoTemplate;
+    private PnrNodeLease lease;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        lease = new PnrNodeLease(mongoTemplate);
+    }
+
+    @AfterEach
+    void resetGenerator() {
+        PnrGenerator.setNodeId(0);
+        ReflectionTestUtils.invokeMethod(PnrGenerator.class, "clearReservation");
+    }
+
+    private static PnrNode node(int id, long reservedSecond) {
+        PnrNode node = new PnrNode();
+        node.setId(id);
+        node.setReservedSecond(reservedSecond);
+        return node;
+    }
+
+
+    @Test
+    void testAcquire_SkipsIdsLeasedByOthers() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(PnrNode.class)))
+                .thenThrow(new DuplicateKeyException("taken"))
+                .thenReturn(node(1, 42));
+
+        lease.acquire();
+
+        assertEquals(1, PnrGenerator.getNodeId());
+    }
+
+    @Test
+    void testAcquire_ConfiguredIdHeldElsewhereFailsStartup() {
+        ReflectionTestUtils.setField(lease, "configuredNodeId", 3);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(PnrNode.class)))
+                .thenThrow(new DuplicateKeyException("taken"));
+
+        assertThrows(IllegalStateException.class, () -> lease.acquire());
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(PnrNode.class));
+    }
+
+    @Test
+    void testReserveThrough_FailsOnceLeaseIsLost() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(PnrNode.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertThrows(IllegalStateException.class, () -> lease.reserveThrough(100));
+    }
+}
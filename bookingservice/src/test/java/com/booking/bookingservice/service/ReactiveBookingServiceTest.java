@@ -0,0 +1,84 @@
+package com.booking.bookingservice.service;
+
+import com.booking.bookingservice.dto.BookingRequest;
+import com.booking.bookingservice.feign.ReactiveFlightClient;
+import com.booking.bookingservice.model.Booking;
+import com.booking.bookingservice.repo.ReactiveBookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveBookingServiceTest {
+
+    private ReactiveBookingRepository bookingRepository;
+    private ReactiveFlightClient flightClient;
+    private ReactiveBookingService bookingService;
+
+    private final BookingRequest request = new BookingRequest(
+            "FL123",
+            "John",
+            "john@gmail.com",
+            2,
+            List.of("A1", "A2")
+    );
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(ReactiveBookingRepository.class);
+        flightClient = mock(ReactiveFlightClient.class);
+
+        bookingService =
+                new ReactiveBookingService(bookingRepository, flightClient);
+
+        when(bookingRepository.existsByFlightIdAndEmail("FL123", "john@gmail.com"))
+                .thenReturn(Mono.just(false));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+    }
+
+
+    @Test
+    void testBookTicket_Success() {
+
+        when(flightClient.reserveSeats("FL123", List.of("A1", "A2")))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(bookingService.bookTicket(request))
+                .expectNextMatches(b -> "CONFIRMED".equals(b.getStatus())
+                        && b.getPnr() != null
+                        && b.getOutbox().size() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    void testBookTicket_ReservationRejected() {
+
+        when(flightClient.reserveSeats("FL123", List.of("A1", "A2")))
+                .thenReturn(Mono.just(false));
+
+        StepVerifier.create(bookingService.bookTicket(request))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testBookTicket_DuplicateBooking() {
+
+        when(bookingRepository.existsByFlightIdAndEmail("FL123", "john@gmail.com"))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(bookingService.bookTicket(request))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(flightClient, never()).reserveSeats(anyString(), anyList());
+    }
+}
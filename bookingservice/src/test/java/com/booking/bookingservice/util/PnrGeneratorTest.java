@@ -0,0 +1,110 @@
+package com.booking.bookingservice.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PnrGeneratorTest {
+
+    @AfterEach
+    void resetNode() {
+        PnrGenerator.setNodeId(0);
+        PnrGenerator.clearReservation();
+    }
+
+    @Test
+    void testGenerate_UsesCrockfordBase32() {
+        String pnr = PnrGenerator.generate();
+
+        assertTrue(pnr.matches("PNR-[0-9A-HJKMNP-TV-Z]{10}"), pnr);
+    }
+
+    @Test
+    void testGenerate_UniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 25_000;
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        seen.add(PnrGenerator.generate());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, seen.size());
+    }
+
+    @Test
+    void testEncode_DiffersByNode() {
+        assertNotEquals(
+                PnrGenerator.encode(1000, 1, 7),
+                PnrGenerator.encode(1000, 2, 7));
+    }
+
+    @Test
+    void testNext_BorrowsNextSecondWhenSequenceIsExhausted() {
+        // A clock reading of 0 is always behind, so only the sequence advances.
+        long start = PnrGenerator.next(0);
+
+        long last = start;
+        for (int i = 0; i < (1 << PnrGenerator.SEQUENCE_BITS); i++) {
+            last = PnrGenerator.next(0);
+        }
+
+        assertEquals((start >>> PnrGenerator.SEQUENCE_BITS) + 1,
+                last >>> PnrGenerator.SEQUENCE_BITS);
+        assertTrue(last > start);
+    }
+
+    @Test
+    void testSetNodeId_RejectsOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PnrGenerator.setNodeId(PnrGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void testResume_SkipsPastReservedSecondsAndReservesAhead() {
+        List<Long> reserved = new ArrayList<>();
+        long issuedThrough = (PnrGenerator.next(0) >>> PnrGenerator.SEQUENCE_BITS) + 100;
+
+        PnrGenerator.resume(issuedThrough, seconds -> {
+            reserved.add(seconds);
+            return seconds + 60;
+        });
+
+        // The clock is far behind what the previous run reserved
+        long first = PnrGenerator.next(0);
+        long second = PnrGenerator.next(0);
+
+        assertEquals(issuedThrough + 1, first >>> PnrGenerator.SEQUENCE_BITS);
+        assertEquals(List.of(issuedThrough + 1), reserved);
+        assertTrue(second > first);
+    }
+
+    @Test
+    void testNext_FailsWhenReservationFails() {
+        long issuedThrough = (PnrGenerator.next(0) >>> PnrGenerator.SEQUENCE_BITS) + 100;
+        PnrGenerator.resume(issuedThrough, seconds -> {
+            throw new IllegalStateException("lease lost");
+        });
+
+        assertThrows(IllegalStateException.class, () -> PnrGenerator.next(0));
+    }
+}
@@ -0,0 +1,33 @@
+package com.flight.flightservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String SEAT_SEEDER_EXECUTOR = "seatSeederExecutor";
+
+    @Bean(name = SEAT_SEEDER_EXECUTOR)
+    public ThreadPoolTaskExecutor seatSeederExecutor(
+            @Value("${flight.seats.seeder-threads:2}") int threads,
+            @Value("${flight.seats.seeder-queue-capacity:1000}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        // A full queue (large import) seeds on the submitting thread instead of
+        // dropping the task, which also slows the import down to what seeding can take.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("seat-seeder-");
+        executor.initialize();
+        return executor;
+    }
+}
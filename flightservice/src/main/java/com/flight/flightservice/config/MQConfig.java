@@ -0,0 +1,24 @@
+package com.flight.flightservice.config;
+
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MQConfig {
+
+    // Every subscriber binds its own queue, so each instance sees each change.
+    public static final String FLIGHT_CHANGES_EXCHANGE = "flight.changes";
+
+    @Bean
+    public FanoutExchange flightChangesExchange() {
+        return new FanoutExchange(FLIGHT_CHANGES_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
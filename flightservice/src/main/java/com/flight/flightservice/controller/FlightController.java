@@ -1,5 +1,8 @@
 package com.flight.flightservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.flightservice.dto.CursorPage;
+import com.flight.flightservice.dto.FlightImportReport;
 import com.flight.flightservice.dto.FlightResponseDTO;
 import com.flight.flightservice.model.Flight;
 import com.flight.flightservice.model.Seat;
@@ -11,10 +14,12 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -26,9 +31,11 @@ public class FlightController {
     private static final Logger log = LoggerFactory.getLogger(FlightController.class);
 
     private final FlightService service;
+    private final ObjectMapper mapper;
 
-    public FlightController(FlightService service) {
+    public FlightController(FlightService service, ObjectMapper mapper) {
         this.service = service;
+        this.mapper = mapper;
     }
 
     @ResponseStatus(HttpStatus.CREATED)
@@ -91,9 +98,11 @@ public class FlightController {
     @PostMapping(value = "/upload-json", consumes = "multipart/form-data")
     public ResponseEntity<?> uploadJson(@RequestParam("file") MultipartFile file) {
         try {
-            int count = service.uploadFlightsJson(file);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(count + " flights uploaded successfully");
+            FlightImportReport report = service.uploadFlightsJson(file);
+            return ResponseEntity.status(HttpStatus.CREATED).body(report);
+        } catch (IllegalArgumentException e) {
+            log.error("Upload rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             log.error("Upload failed: {}", e.getMessage());
             return ResponseEntity.status(500).body("Failed to process JSON file");
@@ -106,6 +115,28 @@ public class FlightController {
         log.info("Admin requested all flights");
         return service.getAllFlights();
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/page")
+    @Operation(summary = "List flights page by page (keyset on id)")
+    public CursorPage<Flight> getFlightsPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int size) {
+        return service.getFlightsPage(after, size);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/admin/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all flights as NDJSON while the cursor is read")
+    public ResponseEntity<StreamingResponseBody> streamAllFlights() {
+        log.info("Admin streaming all flights");
+
+        StreamingResponseBody body = NdjsonBody.of(mapper, service::streamAllFlights);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
     
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/{id}")
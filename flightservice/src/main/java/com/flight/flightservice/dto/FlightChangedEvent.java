@@ -0,0 +1,17 @@
+package com.flight.flightservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FlightChangedEvent {
+
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    private String flightId;
+    private String type;
+}
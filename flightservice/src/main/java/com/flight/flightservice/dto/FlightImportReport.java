@@ -0,0 +1,35 @@
+package com.flight.flightservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class FlightImportReport {
+
+    private long received;
+    private long imported;
+    private long failed;
+
+    // Set when the payload stopped being valid JSON; records after that point were not read.
+    private boolean aborted;
+
+    // Only the first errors are kept so the report stays small for huge files.
+    private List<RecordError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    private long durationMs;
+    private double flightsPerSecond;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordError {
+        private long record;
+        private String message;
+    }
+}
@@ -0,0 +1,19 @@
+package com.flight.flightservice.exception;
+
+import java.util.Collection;
+import java.util.List;
+
+@SuppressWarnings("serial")
+public class SeatUnavailableException extends RuntimeException {
+
+    private final List<String> seats;
+
+    public SeatUnavailableException(String flightId, Collection<String> seats) {
+        super("Seats unavailable on flight " + flightId + ": " + seats);
+        this.seats = List.copyOf(seats);
+    }
+
+    public List<String> getSeats() {
+        return seats;
+    }
+}
@@ -1,6 +1,8 @@
 package com.flight.flightservice.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.Min;
@@ -11,6 +13,7 @@ import lombok.Data;
 
 @Data
 @Document(collection = "flights")
+@CompoundIndex(name = "route_date_idx", def = "{ 'source': 1, 'destination': 1, 'date': 1 }")
 public class Flight {
 
     @Id
@@ -18,6 +21,7 @@ public class Flight {
 
     @NotBlank(message = "Flight number is required")
     @Size(min = 3, max = 10, message = "Flight number must be between 3 and 10 characters")
+    @Indexed
     private String flightNumber;
 
     @NotBlank(message = "Airline is required")
@@ -35,4 +39,7 @@ public class Flight {
     @NotNull(message = "Available seats is required")
     @Min(value = 1, message = "Available seats must be at least 1")
     private Integer availableSeats;
+
+    // Seats the aircraft was configured with; defaults to availableSeats on creation.
+    private Integer capacity;
 }
@@ -0,0 +1,22 @@
+package com.flight.flightservice.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Lets one flightservice instance at a time run a background job. A lock whose
+ * holder died frees itself at lockedUntil.
+ */
+@Data
+@Document(collection = "job_locks")
+public class JobLock {
+
+    @Id
+    private String name;
+
+    private String owner;
+    private Date lockedUntil;
+}
@@ -1,10 +1,12 @@
 package com.flight.flightservice.model;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 
 @Document(collection = "seats")
+@CompoundIndex(name = "flight_seat_idx", def = "{ 'flightId': 1, 'seatNumber': 1 }", unique = true)
 @Data
 public class Seat {
 
@@ -14,5 +16,8 @@ public class Seat {
     private String flightId;
     private String seatNumber;  
     private boolean booked;
+
+    // Set by the lock request that claimed the seat, cleared on release.
+    private String lockId;
 }
 
@@ -0,0 +1,50 @@
+package com.flight.flightservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Describes how seat numbers map to positions: rows lettered from 'A',
+ * seats within a row numbered from 1, filled row by row.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatLayout {
+
+    public static final int DEFAULT_SEATS_PER_ROW = 6; // A–F
+
+    private int seatsPerRow;
+    private int totalSeats;
+
+    public static SeatLayout forSeats(int totalSeats) {
+        return new SeatLayout(DEFAULT_SEATS_PER_ROW, totalSeats);
+    }
+
+    public String seatNumber(int index) {
+        char rowLetter = (char) ('A' + index / seatsPerRow);
+        return rowLetter + String.valueOf(index % seatsPerRow + 1);
+    }
+
+    /**
+     * @return the position of the seat, or -1 if it does not exist in this layout
+     */
+    public int indexOf(String seatNumber) {
+        if (seatNumber == null || seatNumber.length() < 2) {
+            return -1;
+        }
+        int row = seatNumber.charAt(0) - 'A';
+        int col;
+        try {
+            col = Integer.parseInt(seatNumber.substring(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        if (row < 0 || col < 1 || col > seatsPerRow) {
+            return -1;
+        }
+        int index = row * seatsPerRow + (col - 1);
+        return index < totalSeats ? index : -1;
+    }
+}
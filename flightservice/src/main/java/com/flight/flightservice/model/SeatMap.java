@@ -0,0 +1,39 @@
+package com.flight.flightservice.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Compact seat inventory for one flight: one bit per seat (1 = booked),
+ * packed into 64-bit words in layout order.
+ */
+@Data
+@Document(collection = "seat_maps")
+public class SeatMap {
+
+    public static final String BOOKED_BITS = "bookedBits";
+
+    @Id
+    private String flightId;
+
+    private SeatLayout layout;
+
+    private long[] bookedBits;
+
+    public static SeatMap empty(String flightId, SeatLayout layout) {
+        SeatMap map = new SeatMap();
+        map.setFlightId(flightId);
+        map.setLayout(layout);
+        map.setBookedBits(new long[(layout.getTotalSeats() + 63) >>> 6]);
+        return map;
+    }
+
+    public boolean isBooked(int index) {
+        return (bookedBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void setBooked(int index) {
+        bookedBits[index >>> 6] |= 1L << index;
+    }
+}
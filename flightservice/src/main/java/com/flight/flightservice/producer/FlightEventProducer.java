@@ -0,0 +1,34 @@
+package com.flight.flightservice.producer;
+
+import com.flight.flightservice.config.MQConfig;
+import com.flight.flightservice.dto.FlightChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FlightEventProducer {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightEventProducer.class);
+
+    private final RabbitTemplate rabbitTemplate;
+
+    public FlightEventProducer(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    /**
+     * Best effort: the write has already happened, and subscriber caches expire
+     * on their own if the event is lost.
+     */
+    public void flightChanged(String flightId, String type) {
+        try {
+            rabbitTemplate.convertAndSend(
+                    MQConfig.FLIGHT_CHANGES_EXCHANGE, "", new FlightChangedEvent(flightId, type));
+        } catch (AmqpException e) {
+            log.warn("Could not publish {} event for flight {}: {}", type, flightId, e.getMessage());
+        }
+    }
+}
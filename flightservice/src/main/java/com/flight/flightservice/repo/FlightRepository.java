@@ -1,14 +1,38 @@
 package com.flight.flightservice.repo;
 
 import com.flight.flightservice.model.Flight;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface FlightRepository extends MongoRepository<Flight, String> {
 
     List<Flight> findBySourceAndDestinationAndDate(String source, String destination, String date);
     Optional<Flight> findByFlightNumber(String flightNumber);
 
+    // Keyset pagination on _id: no skip, no count query.
+    List<Flight> findAllBy(Pageable pageable);
+    List<Flight> findByIdGreaterThan(String id, Pageable pageable);
+
+    // Backed by a Mongo cursor; the caller must close the stream.
+    Stream<Flight> streamAllBy();
+
+    // Single conditional update: matches only while at least 'required' seats are left.
+    @Query("{ '_id': ?0, 'availableSeats': { $gte: ?1 } }")
+    @Update("{ '$inc': { 'availableSeats': ?2 } }")
+    long incrementAvailableSeatsIfAtLeast(String id, int required, int delta);
+
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$inc': { 'availableSeats': ?1 } }")
+    long incrementAvailableSeats(String id, int delta);
+
+    default boolean decrementAvailableSeats(String id, int count) {
+        return incrementAvailableSeatsIfAtLeast(id, count, -count) == 1;
+    }
+
 }
@@ -0,0 +1,13 @@
+package com.flight.flightservice.repo;
+
+import com.flight.flightservice.model.SeatMap;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Optional;
+
+public interface SeatMapRepository extends MongoRepository<SeatMap, String> {
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'layout': 1 }")
+    Optional<SeatMap> findLayoutByFlightId(String flightId);
+}
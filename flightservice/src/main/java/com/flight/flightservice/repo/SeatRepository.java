@@ -5,6 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.Update;
 
+import com.flight.flightservice.dto.SeatResponse;
 import com.flight.flightservice.model.*;
 import java.util.*;
 
@@ -13,6 +14,10 @@ extends MongoRepository<Seat, String> {
 	
 	 List<Seat> findByFlightId(String flightId);
 
+	 // Seat map read: only the two fields the response carries are decoded.
+	 @Query(value = "{ 'flightId': ?0 }", fields = "{ 'seatNumber': 1, 'booked': 1, '_id': 0 }")
+	 List<SeatResponse> findSeatMapByFlightId(String flightId);
+
 	 List<Seat> findByFlightIdAndSeatNumberIn(
 		        String flightId,
 		        List<String> seatNumbers
@@ -26,12 +31,20 @@ default boolean areSeatsAvailable(String flightId, List<String> seatNumbers) {
 }
 
 
-@Query("{ 'flightId': ?0, 'seatNumber': { $in: ?1 } }")
-@Update("{ '$set': { 'booked': true } }")
-void lockSeats(String flightId, List<String> seatNumbers);
+// Claims only the seats that are still free; returns how many were claimed.
+@Query("{ 'flightId': ?0, 'seatNumber': { $in: ?1 }, 'booked': false }")
+@Update("{ '$set': { 'booked': true, 'lockId': ?2 } }")
+long lockSeats(String flightId, List<String> seatNumbers, String lockId);
+
+@Query(value = "{ 'flightId': ?0, 'lockId': ?1 }", fields = "{ 'seatNumber': 1 }")
+List<Seat> findClaimedSeats(String flightId, String lockId);
+
+@Query("{ 'flightId': ?0, 'lockId': ?1 }")
+@Update("{ '$set': { 'booked': false }, '$unset': { 'lockId': '' } }")
+long releaseClaim(String flightId, String lockId);
 
 
 @Query("{ 'flightId': ?0, 'seatNumber': { $in: ?1 } }")
-@Update("{ '$set': { 'booked': false } }")
+@Update("{ '$set': { 'booked': false }, '$unset': { 'lockId': '' } }")
 void releaseSeats(String flightId, List<String> seatNumbers);
 }
@@ -17,6 +17,13 @@ import java.util.stream.Collectors;
 
 public class HeaderAuthenticationFilter extends OncePerRequestFilter {
 
+    // Async results (StreamingResponseBody) are authorized again on the
+    // ASYNC dispatch, which starts with an empty security context.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -26,10 +33,6 @@ public class HeaderAuthenticationFilter extends OncePerRequestFilter {
 
         String email = request.getHeader("X-User-Email");
         String rolesHeader = request.getHeader("X-User-Roles");
-        
-        System.out.println(
-        	    "AUTH FILTER → email=" + email + ", roles=" + rolesHeader
-        	);
 
         if (email != null && rolesHeader != null) {
 
@@ -0,0 +1,225 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.dto.SeatResponse;
+import com.flight.flightservice.exception.SeatUnavailableException;
+import com.flight.flightservice.model.Flight;
+import com.flight.flightservice.model.SeatLayout;
+import com.flight.flightservice.model.SeatMap;
+import com.flight.flightservice.repo.SeatMapRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.client.result.UpdateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a flight's seats as a bitset in a single SeatMap document. Locking is one
+ * document update guarded by {@code $bitsAllClear} and applied with {@code $bit or},
+ * so it is atomic without any rollback; release is a {@code $bit and}.
+ */
+@Component
+@ConditionalOnProperty(name = "flight.seat-map.storage", havingValue = "bitset")
+public class BitsetSeatMapStore implements SeatMapStore {
+
+    private static final Logger log = LoggerFactory.getLogger(BitsetSeatMapStore.class);
+
+    private static final int MAX_LOCK_ATTEMPTS = 3;
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final SeatMapRepository seatMapRepository;
+    private final MongoTemplate mongoTemplate;
+
+    // Layouts never change once a seat map exists, so seat-number → bit lookups need no read.
+    // Bounded by size since flights are never removed from it otherwise; an evicted
+    // layout is just read again.
+    private final Cache<String, SeatLayout> layouts;
+
+    public BitsetSeatMapStore(
+            SeatMapRepository seatMapRepository,
+            MongoTemplate mongoTemplate,
+            @Value("${flight.seat-map.layout-cache-size:10000}") long layoutCacheSize
+    ) {
+        this.seatMapRepository = seatMapRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.layouts = Caffeine.newBuilder()
+                .maximumSize(layoutCacheSize)
+                .build();
+    }
+
+    @Override
+    public List<SeatResponse> getSeatMap(String flightId) {
+        return seatMapRepository.findById(flightId)
+                .map(this::toResponse)
+                .orElse(List.of());
+    }
+
+    @Override
+    public void lockSeats(String flightId, List<String> seatNumbers) {
+
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat must be requested");
+        }
+
+        SeatLayout layout = layout(flightId);
+        Set<String> requested = new LinkedHashSet<>(seatNumbers);
+        Map<Integer, List<Integer>> bitsByWord = new TreeMap<>();
+        Set<String> unknown = new LinkedHashSet<>();
+
+        for (String seatNumber : requested) {
+            int index = layout == null ? -1 : layout.indexOf(seatNumber);
+            if (index < 0) {
+                unknown.add(seatNumber);
+            } else {
+                bitsByWord.computeIfAbsent(index >>> 6, w -> new ArrayList<>()).add(index & 63);
+            }
+        }
+
+        if (!unknown.isEmpty()) {
+            throw new SeatUnavailableException(flightId, unknown);
+        }
+
+        Criteria criteria = Criteria.where("_id").is(flightId);
+        Update update = new Update();
+        bitsByWord.forEach((word, bits) -> {
+            String field = SeatMap.BOOKED_BITS + "." + word;
+            criteria.and(field).bits().allClear(bits);
+            update.bitwise(field).or(mask(bits));
+        });
+
+        for (int attempt = 1; attempt <= MAX_LOCK_ATTEMPTS; attempt++) {
+            UpdateResult result = mongoTemplate.updateFirst(new Query(criteria), update, SeatMap.class);
+            if (result.getModifiedCount() == 1) {
+                return;
+            }
+
+            // Guard failed: report exactly which requested seats are taken right now.
+            Set<String> conflicts = bookedAmong(flightId, requested, layout);
+            if (!conflicts.isEmpty()) {
+                log.warn("Seat lock rejected for flight {}. Unavailable seats: {}", flightId, conflicts);
+                throw new SeatUnavailableException(flightId, conflicts);
+            }
+        }
+
+        throw new SeatUnavailableException(flightId, requested);
+    }
+
+    @Override
+    public void releaseSeats(String flightId, List<String> seatNumbers) {
+        SeatLayout layout = layout(flightId);
+        if (layout == null || seatNumbers == null || seatNumbers.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, List<Integer>> bitsByWord = new TreeMap<>();
+        for (String seatNumber : seatNumbers) {
+            int index = layout.indexOf(seatNumber);
+            if (index >= 0) {
+                bitsByWord.computeIfAbsent(index >>> 6, w -> new ArrayList<>()).add(index & 63);
+            }
+        }
+        if (bitsByWord.isEmpty()) {
+            return;
+        }
+
+        Update update = new Update();
+        bitsByWord.forEach((word, bits) ->
+                update.bitwise(SeatMap.BOOKED_BITS + "." + word).and(~mask(bits)));
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(flightId)), update, SeatMap.class);
+    }
+
+    @Override
+    public void seedSeats(Collection<Flight> flights) {
+        List<SeatMap> maps = flights.stream()
+                .map(flight -> SeatMap.empty(flight.getId(), SeatLayout.forSeats(flight.getCapacity())))
+                .toList();
+        if (maps.isEmpty()) {
+            return;
+        }
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SeatMap.class)
+                    .insert(maps)
+                    .execute();
+            maps.forEach(map -> layouts.put(map.getFlightId(), map.getLayout()));
+        } catch (BulkOperationException e) {
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw e;
+            }
+            // maps that already existed keep their stored layout; the rest were inserted
+            log.warn("{} seat maps were already present", e.getErrors().size());
+        }
+    }
+
+    @Override
+    public Set<String> seededFlightIds() {
+        Query query = new Query();
+        query.fields().include("_id");
+        return mongoTemplate.find(query, SeatMap.class)
+                .stream()
+                .map(SeatMap::getFlightId)
+                .collect(Collectors.toSet());
+    }
+
+    private SeatLayout layout(String flightId) {
+        SeatLayout cached = layouts.getIfPresent(flightId);
+        if (cached != null) {
+            return cached;
+        }
+        return seatMapRepository.findLayoutByFlightId(flightId)
+                .map(SeatMap::getLayout)
+                .map(layout -> {
+                    layouts.put(flightId, layout);
+                    return layout;
+                })
+                .orElse(null);
+    }
+
+    private Set<String> bookedAmong(String flightId, Set<String> requested, SeatLayout layout) {
+        Set<String> booked = new LinkedHashSet<>();
+        seatMapRepository.findById(flightId).ifPresent(map -> {
+            for (String seatNumber : requested) {
+                if (map.isBooked(layout.indexOf(seatNumber))) {
+                    booked.add(seatNumber);
+                }
+            }
+        });
+        return booked;
+    }
+
+    private List<SeatResponse> toResponse(SeatMap map) {
+        SeatLayout layout = map.getLayout();
+        List<SeatResponse> seats = new ArrayList<>(layout.getTotalSeats());
+        for (int i = 0; i < layout.getTotalSeats(); i++) {
+            seats.add(new SeatResponse(layout.seatNumber(i), map.isBooked(i)));
+        }
+        return seats;
+    }
+
+    private static long mask(List<Integer> bits) {
+        long mask = 0L;
+        for (int bit : bits) {
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,106 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.dto.SeatResponse;
+import com.flight.flightservice.model.Flight;
+import com.flight.flightservice.model.Seat;
+import com.flight.flightservice.model.SeatLayout;
+import com.flight.flightservice.repo.SeatRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@ConditionalOnProperty(name = "flight.seat-map.storage", havingValue = "documents", matchIfMissing = true)
+public class DocumentSeatMapStore implements SeatMapStore {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final SeatRepository seatRepository;
+    private final SeatLockService seatLockService;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${flight.seats.seed-batch-size:1000}")
+    private int batchSize = 1000;
+
+    public DocumentSeatMapStore(
+            SeatRepository seatRepository,
+            SeatLockService seatLockService,
+            MongoTemplate mongoTemplate
+    ) {
+        this.seatRepository = seatRepository;
+        this.seatLockService = seatLockService;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<SeatResponse> getSeatMap(String flightId) {
+        return seatRepository.findSeatMapByFlightId(flightId);
+    }
+
+    @Override
+    public void lockSeats(String flightId, List<String> seatNumbers) {
+        seatLockService.lockSeats(flightId, seatNumbers);
+    }
+
+    @Override
+    public void releaseSeats(String flightId, List<String> seatNumbers) {
+        seatLockService.releaseSeats(flightId, seatNumbers);
+    }
+
+    @Override
+    public void seedSeats(Collection<Flight> flights) {
+        List<Seat> batch = new ArrayList<>(batchSize);
+
+        for (Flight flight : flights) {
+            SeatLayout layout = SeatLayout.forSeats(flight.getCapacity());
+
+            for (int i = 0; i < layout.getTotalSeats(); i++) {
+                Seat seat = new Seat();
+                seat.setFlightId(flight.getId());
+                seat.setSeatNumber(layout.seatNumber(i));
+                seat.setBooked(false);
+                batch.add(seat);
+
+                if (batch.size() == batchSize) {
+                    insertMissing(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            insertMissing(batch);
+        }
+    }
+
+    // Seeding can overlap (startup backfill, imports, retries). Unordered, so seats
+    // that already exist are skipped by the unique index and the rest still go in.
+    private void insertMissing(List<Seat> batch) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Seat.class)
+                    .insert(batch)
+                    .execute();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream()
+                    .allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public Set<String> seededFlightIds() {
+        return new HashSet<>(mongoTemplate.findDistinct(new Query(), "flightId", Seat.class, String.class));
+    }
+}
@@ -0,0 +1,48 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.model.Flight;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of flights by id. Local writes invalidate their entry;
+ * the TTL bounds how long a write made by another instance can go unseen.
+ * Hit/miss/eviction counts are published as the {@code flights.by-id} cache metrics.
+ */
+@Component
+public class FlightCache {
+
+    private final Cache<String, Flight> cache;
+
+    public FlightCache(
+            MeterRegistry meterRegistry,
+            @Value("${flight.cache.maximum-size:10000}") long maximumSize,
+            @Value("${flight.cache.ttl-seconds:30}") long ttlSeconds
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "flights.by-id");
+    }
+
+    /**
+     * @param loader called on a miss; an exception it throws is propagated and nothing is cached
+     */
+    public Flight get(String id, Function<String, Flight> loader) {
+        return cache.get(id, loader);
+    }
+
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+}
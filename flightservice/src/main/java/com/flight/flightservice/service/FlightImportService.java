@@ -0,0 +1,188 @@
+package com.flight.flightservice.service;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.flightservice.dto.FlightImportReport;
+import com.flight.flightservice.model.Flight;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports a JSON array of flights token by token. Only one batch of flights is held
+ * in memory at a time, so heap use does not grow with the size of the file.
+ */
+@Service
+public class FlightImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightImportService.class);
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final MongoTemplate mongoTemplate;
+    private final FlightSearchIndex searchIndex;
+    private final SeatSeederService seatSeederService;
+
+    @Value("${flight.import.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${flight.import.max-reported-errors:100}")
+    private int maxReportedErrors = 100;
+
+    public FlightImportService(
+            ObjectMapper objectMapper,
+            Validator validator,
+            MongoTemplate mongoTemplate,
+            FlightSearchIndex searchIndex,
+            SeatSeederService seatSeederService
+    ) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.mongoTemplate = mongoTemplate;
+        this.searchIndex = searchIndex;
+        this.seatSeederService = seatSeederService;
+    }
+
+    public FlightImportReport importFlights(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        FlightImportReport report = new FlightImportReport();
+
+        List<Flight> batch = new ArrayList<>(batchSize);
+        List<Long> batchRecords = new ArrayList<>(batchSize);
+
+        long record = 1;
+        try (JsonParser parser = objectMapper.createParser(in)) {
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of flights");
+            }
+
+            for (; parser.nextToken() != JsonToken.END_ARRAY; record++) {
+                report.setReceived(record);
+
+                // Reading each element as a tree keeps the parser aligned even when
+                // the element does not map onto a Flight.
+                JsonNode node = parser.readValueAsTree();
+                Flight flight;
+                try {
+                    flight = objectMapper.treeToValue(node, Flight.class);
+                } catch (JsonProcessingException e) {
+                    reject(report, record, e.getOriginalMessage());
+                    continue;
+                }
+
+                String invalid = validate(flight);
+                if (invalid != null) {
+                    reject(report, record, invalid);
+                    continue;
+                }
+
+                if (flight.getId() == null) {
+                    flight.setId(new ObjectId().toHexString());
+                }
+                if (flight.getCapacity() == null) {
+                    flight.setCapacity(flight.getAvailableSeats());
+                }
+
+                batch.add(flight);
+                batchRecords.add(record);
+
+                if (batch.size() == batchSize) {
+                    flush(batch, batchRecords, report);
+                    batch = new ArrayList<>(batchSize);
+                    batchRecords = new ArrayList<>(batchSize);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // The parser cannot resync after broken JSON. Earlier batches are already
+            // written, so keep them and report where the file went bad.
+            JsonLocation at = e.getLocation();
+            String where = at == null ? "" : " at line " + at.getLineNr() + ", column " + at.getColumnNr();
+            report.setAborted(true);
+            reject(report, record, "Malformed JSON" + where + ", import stopped: " + e.getOriginalMessage());
+        }
+
+        flush(batch, batchRecords, report);
+
+        long elapsedNanos = System.nanoTime() - start;
+        report.setDurationMs(elapsedNanos / 1_000_000);
+        report.setFlightsPerSecond(elapsedNanos == 0 ? 0 : report.getImported() * 1e9 / elapsedNanos);
+
+        log.info("Flight import finished: {} received, {} imported, {} failed in {} ms ({} flights/s)",
+                report.getReceived(), report.getImported(), report.getFailed(),
+                report.getDurationMs(), Math.round(report.getFlightsPerSecond()));
+        return report;
+    }
+
+    private String validate(Flight flight) {
+        Set<ConstraintViolation<Flight>> violations = validator.validate(flight);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (flight.getSource().equalsIgnoreCase(flight.getDestination())) {
+            return "Source and destination cannot be same";
+        }
+        return null;
+    }
+
+    private void flush(List<Flight> batch, List<Long> batchRecords, FlightImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Flight> inserted = batch;
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Flight.class)
+                    .insert(batch)
+                    .execute();
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                reject(report, batchRecords.get(error.getIndex()), error.getMessage());
+            }
+            inserted = new ArrayList<>(batch.size() - failed.size());
+            for (int i = 0; i < batch.size(); i++) {
+                if (!failed.contains(i)) {
+                    inserted.add(batch.get(i));
+                }
+            }
+        }
+
+        report.setImported(report.getImported() + inserted.size());
+        searchIndex.putAll(inserted);
+        seatSeederService.seedSeatsAsync(inserted);
+    }
+
+    private void reject(FlightImportReport report, long record, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new FlightImportReport.RecordError(record, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+}
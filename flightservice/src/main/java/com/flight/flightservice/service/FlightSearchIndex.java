@@ -0,0 +1,267 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.model.Flight;
+import com.flight.flightservice.repo.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read-optimized view of the flights collection keyed on (source, destination, date).
+ * Reads are lock-free; writes are serialized so a flight never sits in two buckets.
+ * Writes take a ReentrantLock rather than a monitor so request threads never pin a
+ * virtual thread's carrier.
+ * <p>
+ * A rebuild scans Mongo without holding the write lock. Ids written during the scan
+ * are recorded and re-read before the new maps are swapped in, so those writes are
+ * not lost to a snapshot taken before them.
+ */
+@Component
+public class FlightSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightSearchIndex.class);
+
+    private final FlightRepository repository;
+
+    private volatile Map<String, Map<String, Flight>> byRoute = new ConcurrentHashMap<>();
+    private volatile Map<String, String> routeById = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Ids written while a rebuild is scanning; null otherwise. Guarded by writeLock.
+    private Set<String> changedDuringRebuild;
+
+    // Only other flightservice instances' writes need it; this instance keeps the
+    // index current itself.
+    @Value("${flight.search-index.refresh-enabled:true}")
+    private boolean refreshEnabled = true;
+
+    public FlightSearchIndex(FlightRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    // Picks up writes made by other flightservice instances.
+    @Scheduled(
+            initialDelayString = "${flight.search-index.refresh-ms:900000}",
+            fixedDelayString = "${flight.search-index.refresh-ms:900000}"
+    )
+    public void refresh() {
+        if (refreshEnabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            log.debug("Flight search index rebuild already running");
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+
+            Map<String, Map<String, Flight>> routes = new ConcurrentHashMap<>();
+            Map<String, String> ids = new ConcurrentHashMap<>();
+
+            writeLock.lock();
+            try {
+                changedDuringRebuild = new HashSet<>();
+            } finally {
+                writeLock.unlock();
+            }
+
+            try {
+                for (Flight flight : repository.findAll()) {
+                    putInto(routes, ids, flight);
+                }
+
+                // Most late writes are re-read without blocking writers; whatever lands
+                // during that re-read is caught up under the lock, just before the swap.
+                reload(routes, ids, takeChanged());
+
+                writeLock.lock();
+                try {
+                    reload(routes, ids, changedDuringRebuild);
+                    byRoute = routes;
+                    routeById = ids;
+                    ready = true;
+                } finally {
+                    writeLock.unlock();
+                }
+            } finally {
+                writeLock.lock();
+                try {
+                    changedDuringRebuild = null;
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+
+            log.info("Flight search index built with {} flights on {} routes in {} ms",
+                    ids.size(), routes.size(), System.currentTimeMillis() - start);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Set<String> takeChanged() {
+        writeLock.lock();
+        try {
+            Set<String> changed = changedDuringRebuild;
+            changedDuringRebuild = new HashSet<>();
+            return changed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Mongo is written before the index, so it has the latest state of each id.
+    private void reload(Map<String, Map<String, Flight>> routes, Map<String, String> ids, Set<String> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Map<String, Flight> current = new HashMap<>();
+        repository.findAllById(changed).forEach(flight -> current.put(flight.getId(), flight));
+
+        for (String id : changed) {
+            removeFrom(routes, ids, id);
+            putInto(routes, ids, current.get(id));
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return matching flights, or {@code null} when the index cannot answer
+     *         (still warming up, or the route has never been seen).
+     */
+    public List<Flight> search(String source, String destination, String date) {
+        if (!ready) {
+            return null;
+        }
+        Map<String, Flight> bucket = byRoute.get(key(source, destination, date));
+        return bucket == null ? null : new ArrayList<>(bucket.values());
+    }
+
+    /**
+     * Records the result of a Mongo lookup for a route the index had no bucket for,
+     * including empty results, so the next search for it is served from memory.
+     */
+    public void putRoute(String source, String destination, String date, List<Flight> flights) {
+        String key = key(source, destination, date);
+        writeLock.lock();
+        try {
+            byRoute.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+            flights.forEach(this::putInternal);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void put(Flight flight) {
+        writeLock.lock();
+        try {
+            putInternal(flight);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void putAll(Iterable<Flight> flights) {
+        writeLock.lock();
+        try {
+            flights.forEach(this::putInternal);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(String id) {
+        writeLock.lock();
+        try {
+            markChanged(id);
+            removeFrom(byRoute, routeById, id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void adjustAvailableSeats(String id, int delta) {
+        writeLock.lock();
+        try {
+            markChanged(id);
+            String key = routeById.get(id);
+            Map<String, Flight> bucket = key == null ? null : byRoute.get(key);
+            Flight flight = bucket == null ? null : bucket.get(id);
+            if (flight != null && flight.getAvailableSeats() != null) {
+                flight.setAvailableSeats(flight.getAvailableSeats() + delta);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void putInternal(Flight flight) {
+        if (flight != null) {
+            markChanged(flight.getId());
+        }
+        putInto(byRoute, routeById, flight);
+    }
+
+    private void markChanged(String id) {
+        if (changedDuringRebuild != null && id != null) {
+            changedDuringRebuild.add(id);
+        }
+    }
+
+    private static void putInto(Map<String, Map<String, Flight>> routes, Map<String, String> ids, Flight flight) {
+        if (flight == null || flight.getId() == null) {
+            return;
+        }
+        String key = key(flight.getSource(), flight.getDestination(), flight.getDate());
+        String previous = ids.put(flight.getId(), key);
+
+        if (previous != null && !previous.equals(key)) {
+            Map<String, Flight> old = routes.get(previous);
+            if (old != null) {
+                old.remove(flight.getId());
+            }
+        }
+        routes.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(flight.getId(), flight);
+    }
+
+    private static void removeFrom(Map<String, Map<String, Flight>> routes, Map<String, String> ids, String id) {
+        String key = ids.remove(id);
+        if (key != null) {
+            Map<String, Flight> bucket = routes.get(key);
+            if (bucket != null) {
+                bucket.remove(id);
+            }
+        }
+    }
+
+    private static String key(String source, String destination, String date) {
+        return source + '|' + destination + '|' + date;
+    }
+}
@@ -1,27 +1,53 @@
 package com.flight.flightservice.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.flightservice.dto.CursorPage;
+import com.flight.flightservice.dto.FlightChangedEvent;
+import com.flight.flightservice.dto.FlightImportReport;
 import com.flight.flightservice.exception.FlightNotFoundException;
 import com.flight.flightservice.model.Flight;
+import com.flight.flightservice.producer.FlightEventProducer;
 import com.flight.flightservice.repo.FlightRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class FlightService {
 
     private static final Logger log = LoggerFactory.getLogger(FlightService.class);
 
-    private final FlightRepository repository;
+    private static final int MAX_PAGE_SIZE = 1000;
 
-    public FlightService(FlightRepository repository) {
+    private final FlightRepository repository;
+    private final FlightCache flightCache;
+    private final FlightSearchIndex searchIndex;
+    private final SeatSeederService seatSeederService;
+    private final FlightImportService flightImportService;
+    private final FlightEventProducer flightEventProducer;
+
+    public FlightService(
+            FlightRepository repository,
+            FlightCache flightCache,
+            FlightSearchIndex searchIndex,
+            SeatSeederService seatSeederService,
+            FlightImportService flightImportService,
+            FlightEventProducer flightEventProducer
+    ) {
         this.repository = repository;
+        this.flightCache = flightCache;
+        this.searchIndex = searchIndex;
+        this.seatSeederService = seatSeederService;
+        this.flightImportService = flightImportService;
+        this.flightEventProducer = flightEventProducer;
     }
 
     public Flight addFlight(Flight flight) {
@@ -29,65 +55,78 @@ public class FlightService {
         if (flight.getSource().equalsIgnoreCase(flight.getDestination())) {
             throw new IllegalArgumentException("Source and destination cannot be same");
         }
-        return repository.save(flight);
+        if (flight.getCapacity() == null) {
+            flight.setCapacity(flight.getAvailableSeats());
+        }
+        Flight saved = repository.save(flight);
+        searchIndex.put(saved);
+        seatSeederService.seedSeatsAsync(List.of(saved));
+        return saved;
     }
 
     public List<Flight> searchFlights(String source, String destination, String date) {
         log.info("Searching flights from {} to {} on {}", source, destination, date);
-        return repository.findBySourceAndDestinationAndDate(source, destination, date);
+
+        List<Flight> indexed = searchIndex.search(source, destination, date);
+        if (indexed != null) {
+            return indexed;
+        }
+
+        List<Flight> flights = repository.findBySourceAndDestinationAndDate(source, destination, date);
+        if (searchIndex.isReady()) {
+            searchIndex.putRoute(source, destination, date, flights);
+        }
+        return flights;
     }
 
     public Flight getFlight(String id) {
-        return repository.findById(id)
-                .orElseThrow(() -> new FlightNotFoundException(id));
+        return flightCache.get(id, key -> repository.findById(key)
+                .orElseThrow(() -> new FlightNotFoundException(key)));
     }
 
     public boolean reduceSeats(String id, int count) {
         log.info("Reducing {} seats from flight {}", count, id);
 
-        Flight flight = getFlight(id);
+        if (count <= 0) {
+            throw new IllegalArgumentException("Seat count must be positive");
+        }
 
-        if (flight.getAvailableSeats() < count) {
-            log.warn("Not enough seats available for flight {}. Requested: {}, Available: {}",
-                    id, count, flight.getAvailableSeats());
+        if (!repository.decrementAvailableSeats(id, count)) {
+            if (!repository.existsById(id)) {
+                throw new FlightNotFoundException(id);
+            }
+            log.warn("Not enough seats available for flight {}. Requested: {}", id, count);
             return false;
         }
 
-        flight.setAvailableSeats(flight.getAvailableSeats() - count);
-        repository.save(flight);
+        flightCache.invalidate(id);
+        searchIndex.adjustAvailableSeats(id, -count);
 
-        log.info("Successfully reduced seats. Remaining seats: {}", flight.getAvailableSeats());
+        log.info("Successfully reduced {} seats for flight {}", count, id);
         return true;
     }
 
     public void increaseSeats(String id, int count) {
         log.info("Increasing {} seats for flight {}", count, id);
 
-        Flight flight = getFlight(id);
+        if (count <= 0) {
+            throw new IllegalArgumentException("Seat count must be positive");
+        }
+
+        if (repository.incrementAvailableSeats(id, count) == 0) {
+            throw new FlightNotFoundException(id);
+        }
 
-        flight.setAvailableSeats(flight.getAvailableSeats() + count);
-        repository.save(flight);
+        flightCache.invalidate(id);
+        searchIndex.adjustAvailableSeats(id, count);
 
-        log.info("Successfully increased seats. New seat count: {}", flight.getAvailableSeats());
+        log.info("Successfully increased {} seats for flight {}", count, id);
     }
     
-    public int uploadFlightsJson(MultipartFile file) {
-        try {
-            String content = new String(file.getBytes(), StandardCharsets.UTF_8);
-
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.findAndRegisterModules();   
-
-            List<Flight> flights = mapper.readValue(
-                    content,
-                    new TypeReference<List<Flight>>() {}
-            );
-
-            repository.saveAll(flights);
-
-            return flights.size();
-
-        } catch (Exception e) {
+    public FlightImportReport uploadFlightsJson(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            return flightImportService.importFlights(in);
+        } catch (IOException e) {
             log.error("Failed to process JSON file: {}", e.getMessage());
             throw new RuntimeException("Invalid JSON format. Upload failed.");
         }
@@ -96,8 +135,29 @@ public class FlightService {
     public List<Flight> getAllFlights() {
         return repository.findAll();
     }
+
+    public CursorPage<Flight> getFlightsPage(String after, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Pageable page = PageRequest.of(0, pageSize, Sort.by("id"));
+
+        List<Flight> flights = after == null
+                ? repository.findAllBy(page)
+                : repository.findByIdGreaterThan(after, page);
+
+        String nextCursor = flights.size() == pageSize
+                ? flights.get(flights.size() - 1).getId()
+                : null;
+        return new CursorPage<>(flights, nextCursor);
+    }
+
+    public Stream<Flight> streamAllFlights() {
+        return repository.streamAllBy();
+    }
+
     public void updateFlight(String id, Flight updated) {
-        Flight existing = getFlight(id);
+        // Read Mongo directly: the cached instance is shared with readers.
+        Flight existing = repository.findById(id)
+                .orElseThrow(() -> new FlightNotFoundException(id));
 
         existing.setAirline(updated.getAirline());
         existing.setSource(updated.getSource());
@@ -106,10 +166,16 @@ public class FlightService {
         existing.setAvailableSeats(updated.getAvailableSeats());
 
         repository.save(existing);
+        flightCache.invalidate(id);
+        searchIndex.put(existing);
+        flightEventProducer.flightChanged(id, FlightChangedEvent.UPDATED);
     }
     
     public void deleteFlight(String id) {
         repository.deleteById(id);
+        flightCache.invalidate(id);
+        searchIndex.remove(id);
+        flightEventProducer.flightChanged(id, FlightChangedEvent.DELETED);
     }
 
     
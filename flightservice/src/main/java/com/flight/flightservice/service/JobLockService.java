@@ -0,0 +1,55 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.model.JobLock;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+@Service
+public class JobLockService {
+
+    private final MongoTemplate mongoTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public JobLockService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * @return true if this instance now holds the lock for up to {@code maxHold}
+     */
+    public boolean tryLock(String name, Duration maxHold) {
+        Date now = new Date();
+        Query query = Query.query(Criteria.where("_id").is(name)
+                .orOperator(
+                        Criteria.where("lockedUntil").lt(now),
+                        Criteria.where("owner").is(owner)));
+
+        Update update = new Update()
+                .set("owner", owner)
+                .set("lockedUntil", new Date(now.getTime() + maxHold.toMillis()));
+
+        try {
+            return mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), JobLock.class) != null;
+        } catch (DuplicateKeyException e) {
+            // Held by another instance
+            return false;
+        }
+    }
+
+    public void unlock(String name) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(name).and("owner").is(owner)),
+                new Update().set("lockedUntil", new Date(0)),
+                JobLock.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.exception.SeatUnavailableException;
+import com.flight.flightservice.model.Seat;
+import com.flight.flightservice.repo.SeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class SeatLockService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatLockService.class);
+
+    private final SeatRepository seatRepository;
+
+    public SeatLockService(SeatRepository seatRepository) {
+        this.seatRepository = seatRepository;
+    }
+
+    /**
+     * Claims every requested seat in one conditional update on {@code booked:false}.
+     * If any seat could not be claimed the partial claim is rolled back and the
+     * exact set of unavailable (booked or unknown) seats is reported.
+     */
+    public void lockSeats(String flightId, List<String> seatNumbers) {
+
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat must be requested");
+        }
+
+        Set<String> requested = new LinkedHashSet<>(seatNumbers);
+        String lockId = UUID.randomUUID().toString();
+
+        long claimed = seatRepository.lockSeats(flightId, new ArrayList<>(requested), lockId);
+
+        if (claimed == requested.size()) {
+            return;
+        }
+
+        Set<String> conflicts = new LinkedHashSet<>(requested);
+        if (claimed > 0) {
+            for (Seat seat : seatRepository.findClaimedSeats(flightId, lockId)) {
+                conflicts.remove(seat.getSeatNumber());
+            }
+            seatRepository.releaseClaim(flightId, lockId);
+        }
+
+        log.warn("Seat lock rejected for flight {}. Unavailable seats: {}", flightId, conflicts);
+        throw new SeatUnavailableException(flightId, conflicts);
+    }
+
+    public void releaseSeats(String flightId, List<String> seatNumbers) {
+        seatRepository.releaseSeats(flightId, seatNumbers);
+    }
+}
@@ -0,0 +1,84 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.model.Seat;
+import com.flight.flightservice.model.SeatLayout;
+import com.flight.flightservice.model.SeatMap;
+import com.flight.flightservice.repo.SeatMapRepository;
+import com.flight.flightservice.repo.SeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Copies per-seat documents from the {@code seats} collection into bitset seat maps.
+ * Runs at startup when {@code flight.seat-map.migrate-on-startup=true}; flights that
+ * already have a seat map are skipped, and the source documents are left untouched
+ * so switching back to {@code documents} storage stays possible.
+ */
+@Component
+@ConditionalOnProperty(name = "flight.seat-map.storage", havingValue = "bitset")
+public class SeatMapMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatMapMigration.class);
+
+    private final SeatRepository seatRepository;
+    private final SeatMapRepository seatMapRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${flight.seat-map.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    public SeatMapMigration(
+            SeatRepository seatRepository,
+            SeatMapRepository seatMapRepository,
+            MongoTemplate mongoTemplate
+    ) {
+        this.seatRepository = seatRepository;
+        this.seatMapRepository = seatMapRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (migrateOnStartup) {
+            migrateAll();
+        }
+    }
+
+    public int migrateAll() {
+        List<String> flightIds = mongoTemplate.findDistinct(new Query(), "flightId", Seat.class, String.class);
+
+        int migrated = 0;
+        for (String flightId : flightIds) {
+            if (!seatMapRepository.existsById(flightId)) {
+                seatMapRepository.save(toSeatMap(flightId, seatRepository.findByFlightId(flightId)));
+                migrated++;
+            }
+        }
+
+        log.info("Seat map migration finished: {} of {} flights migrated", migrated, flightIds.size());
+        return migrated;
+    }
+
+    static SeatMap toSeatMap(String flightId, List<Seat> seats) {
+        SeatMap map = SeatMap.empty(flightId, SeatLayout.forSeats(seats.size()));
+
+        for (Seat seat : seats) {
+            int index = map.getLayout().indexOf(seat.getSeatNumber());
+            if (index < 0) {
+                log.warn("Skipping seat {} of flight {}: outside the seat layout", seat.getSeatNumber(), flightId);
+            } else if (seat.isBooked()) {
+                map.setBooked(index);
+            }
+        }
+        return map;
+    }
+}
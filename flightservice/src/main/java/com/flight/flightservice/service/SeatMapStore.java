@@ -0,0 +1,34 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.dto.SeatResponse;
+import com.flight.flightservice.model.Flight;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Seat inventory storage. Selected with {@code flight.seat-map.storage}:
+ * {@code documents} (one Seat document per seat, default) or {@code bitset}
+ * (one SeatMap document per flight).
+ */
+public interface SeatMapStore {
+
+    List<SeatResponse> getSeatMap(String flightId);
+
+    /**
+     * Books all seats or none.
+     * @throws com.flight.flightservice.exception.SeatUnavailableException with the conflicting seats
+     */
+    void lockSeats(String flightId, List<String> seatNumbers);
+
+    void releaseSeats(String flightId, List<String> seatNumbers);
+
+    /**
+     * Creates the seat inventory of newly created flights from their capacity,
+     * writing in batches. Callers only pass flights that have no seats yet.
+     */
+    void seedSeats(Collection<Flight> flights);
+
+    Set<String> seededFlightIds();
+}
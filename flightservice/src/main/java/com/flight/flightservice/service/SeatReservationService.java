@@ -0,0 +1,61 @@
+package com.flight.flightservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Locks seats and takes them off the flight's seat count in one internal call,
+ * so a booking needs a single round trip to flightservice.
+ */
+@Service
+public class SeatReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatReservationService.class);
+
+    private final SeatMapStore seatMapStore;
+    private final FlightService flightService;
+
+    public SeatReservationService(SeatMapStore seatMapStore, FlightService flightService) {
+        this.seatMapStore = seatMapStore;
+        this.flightService = flightService;
+    }
+
+    /**
+     * @return {@code false} when the flight has fewer available seats than requested;
+     *         the seat lock is released again in that case.
+     * @throws com.flight.flightservice.exception.SeatUnavailableException with the conflicting seats
+     */
+    public boolean reserveSeats(String flightId, List<String> seatNumbers) {
+
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat must be requested");
+        }
+        if (new HashSet<>(seatNumbers).size() != seatNumbers.size()) {
+            throw new IllegalArgumentException("Duplicate seat selection is not allowed");
+        }
+
+        seatMapStore.lockSeats(flightId, seatNumbers);
+
+        boolean reduced;
+        try {
+            reduced = flightService.reduceSeats(flightId, seatNumbers.size());
+        } catch (RuntimeException e) {
+            seatMapStore.releaseSeats(flightId, seatNumbers);
+            throw e;
+        }
+
+        if (!reduced) {
+            // rollback seat lock
+            seatMapStore.releaseSeats(flightId, seatNumbers);
+            log.warn("Reservation of {} on flight {} rejected: not enough seats", seatNumbers, flightId);
+            return false;
+        }
+
+        log.info("Reserved seats {} on flight {}", seatNumbers, flightId);
+        return true;
+    }
+}
@@ -1,49 +1,100 @@
 package com.flight.flightservice.service;
 
-import com.flight.flightservice.model.Seat;
-import com.flight.flightservice.repo.SeatRepository;
+import com.flight.flightservice.config.AsyncConfig;
+import com.flight.flightservice.model.Flight;
+import com.flight.flightservice.repo.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Creates seat inventory in the background when flights are created or uploaded,
+ * so the seat-map read path never has to check for or seed missing seats.
+ */
 @Service
 public class SeatSeederService {
 
-    private final SeatRepository seatRepository;
+    private static final Logger log = LoggerFactory.getLogger(SeatSeederService.class);
 
-    private static final int SEATS_PER_ROW = 6; // A–F
+    private static final String BACKFILL_LOCK = "seat-backfill";
 
-    public SeatSeederService(SeatRepository seatRepository) {
-        this.seatRepository = seatRepository;
-    }
+    private final SeatMapStore seatMapStore;
+    private final FlightRepository flightRepository;
+    private final JobLockService jobLocks;
 
-    public void seedSeatsIfRequired(String flightId, int totalSeats) {
+    @Value("${flight.seats.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
 
-        if (!seatRepository.findByFlightId(flightId).isEmpty()) {
-            return;
-        }
+    // Upper bound on one backfill; a crashed holder's lock frees itself after this.
+    @Value("${flight.seats.backfill-lock-minutes:30}")
+    private long backfillLockMinutes = 30;
 
-        List<Seat> seats = new ArrayList<>();
+    public SeatSeederService(
+            SeatMapStore seatMapStore,
+            FlightRepository flightRepository,
+            JobLockService jobLocks
+    ) {
+        this.seatMapStore = seatMapStore;
+        this.flightRepository = flightRepository;
+        this.jobLocks = jobLocks;
+    }
 
-        int rows = (int) Math.ceil((double) totalSeats / SEATS_PER_ROW);
+    @Async(AsyncConfig.SEAT_SEEDER_EXECUTOR)
+    public void seedSeatsAsync(List<Flight> flights) {
+        if (flights.isEmpty()) {
+            return;
+        }
+        try {
+            seatMapStore.seedSeats(flights);
+            log.info("Seeded seats for {} flights", flights.size());
+        } catch (Exception e) {
+            log.error("Seat seeding failed for {} flights: {}", flights.size(), e.getMessage());
+        }
+    }
 
-        int seatCount = 0;
+    // Flights created before eager seeding existed get their seats once, at startup,
+    // by whichever instance takes the lock. Seeding skips seats that already exist,
+    // so overlapping with an import or a new flight is harmless.
+    @Async(AsyncConfig.SEAT_SEEDER_EXECUTOR)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingSeats() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        if (!jobLocks.tryLock(BACKFILL_LOCK, Duration.ofMinutes(backfillLockMinutes))) {
+            log.info("Seat backfill is running on another instance");
+            return;
+        }
 
-        for (int row = 0; row < rows && seatCount < totalSeats; row++) {
-            char rowLetter = (char) ('A' + row);
+        try {
+            Set<String> seeded = seatMapStore.seededFlightIds();
+            List<Flight> missing = flightRepository.findAll()
+                    .stream()
+                    .filter(flight -> !seeded.contains(flight.getId()))
+                    .toList();
 
-            for (int col = 1; col <= SEATS_PER_ROW && seatCount < totalSeats; col++) {
-                Seat seat = new Seat();
-                seat.setFlightId(flightId);
-                seat.setSeatNumber(rowLetter + String.valueOf(col));
-                seat.setBooked(false);
+            for (Flight flight : missing) {
+                if (flight.getCapacity() == null) {
+                    flight.setCapacity(flight.getAvailableSeats());
+                }
+            }
 
-                seats.add(seat);
-                seatCount++;
+            if (!missing.isEmpty()) {
+                seatMapStore.seedSeats(missing);
+                log.info("Backfilled seats for {} flights", missing.size());
             }
+        } catch (Exception e) {
+            log.error("Seat backfill failed: {}", e.getMessage());
+        } finally {
+            jobLocks.unlock(BACKFILL_LOCK);
         }
-
-        seatRepository.saveAll(seats);
     }
 }
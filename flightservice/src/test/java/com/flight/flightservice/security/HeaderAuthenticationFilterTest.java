@@ -0,0 +1,62 @@
+package com.flight.flightservice.security;
+
+import com.flight.flightservice.controller.FlightController;
+import com.flight.flightservice.model.Flight;
+import com.flight.flightservice.service.FlightService;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.cloud.config.import-check.enabled=false",
+        "eureka.client.enabled=false"
+})
+@WebMvcTest(FlightController.class)
+@Import(SecurityConfig.class)
+class HeaderAuthenticationFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @SuppressWarnings("removal")
+    @MockBean
+    private FlightService service;
+
+    @Test
+    void testAdminStream_AuthorizedOnAsyncDispatch() throws Exception {
+        Flight flight = new Flight();
+        flight.setFlightNumber("AI-202");
+
+        when(service.streamAllFlights()).thenReturn(Stream.of(flight));
+
+        MvcResult started = mockMvc.perform(get("/flights/admin/stream")
+                        .header("X-User-Email", "admin@mail.com")
+                        .header("X-User-Roles", "ROLE_ADMIN"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("AI-202")));
+    }
+
+    @Test
+    void testAdminStream_RejectedWithoutHeaders() throws Exception {
+        mockMvc.perform(get("/flights/admin/stream"))
+                .andExpect(status().isForbidden());
+    }
+}
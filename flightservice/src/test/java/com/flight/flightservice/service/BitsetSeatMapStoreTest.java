@@ -0,0 +1,141 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.exception.SeatUnavailableException;
+import com.flight.flightservice.model.Flight;
+import com.flight.flightservice.model.SeatLayout;
+import com.flight.flightservice.model.SeatMap;
+import com.flight.flightservice.repo.SeatMapRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BitsetSeatMapStoreTest {
+
+    // 180 seats span three 64-bit words; L5 is seat index 70, bit 6 of word 1.
+    private static final SeatLayout LAYOUT = SeatLayout.forSeats(180);
+
+    private SeatMapRepository seatMapRepository;
+    private MongoTemplate mongoTemplate;
+    private BitsetSeatMapStore store;
+
+    @BeforeEach
+    void setUp() {
+        seatMapRepository = mock(SeatMapRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        store = new BitsetSeatMapStore(seatMapRepository, mongoTemplate, 100);
+
+        when(seatMapRepository.findLayoutByFlightId("F1")).thenReturn(Optional.of(SeatMap.empty("F1", LAYOUT)));
+    }
+
+    private void updateModifies(long count) {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SeatMap.class)))
+                .thenReturn(UpdateResult.acknowledged(count, count, null));
+    }
+
+    private static Document bitOps(Update update) {
+        return update.getUpdateObject().get("$bit", Document.class);
+    }
+
+
+    @Test
+    void testLockSeats_ClaimsAllSeatsInOneGuardedUpdate() {
+        updateModifies(1);
+
+        store.lockSeats("F1", List.of("A1", "A2", "L5"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(SeatMap.class));
+
+        Document guard = query.getValue().getQueryObject();
+        assertEquals("F1", guard.get("_id"));
+        assertTrue(guard.containsKey("bookedBits.0"));
+        assertTrue(guard.containsKey("bookedBits.1"));
+
+        Document bits = bitOps(update.getValue());
+        assertEquals(0b11L, bits.get("bookedBits.0", Document.class).get("or"));
+        assertEquals(1L << 6, bits.get("bookedBits.1", Document.class).get("or"));
+    }
+
+    @Test
+    void testLockSeats_PartialConflictWritesNothingAndReportsTakenSeats() {
+        updateModifies(0);
+        SeatMap current = SeatMap.empty("F1", LAYOUT);
+        current.setBooked(LAYOUT.indexOf("A2"));
+        when(seatMapRepository.findById("F1")).thenReturn(Optional.of(current));
+
+        SeatUnavailableException e = assertThrows(SeatUnavailableException.class,
+                () -> store.lockSeats("F1", List.of("A1", "A2")));
+
+        assertEquals(List.of("A2"), e.getSeats());
+        // The guard refused the whole update, so A1 was never set and nothing is undone
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq(SeatMap.class));
+    }
+
+    @Test
+    void testLockSeats_UnknownSeatsAreRejectedBeforeAnyWrite() {
+        SeatUnavailableException e = assertThrows(SeatUnavailableException.class,
+                () -> store.lockSeats("F1", List.of("A1", "Z9", "A7")));
+
+        assertEquals(List.of("Z9", "A7"), e.getSeats());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(SeatMap.class));
+    }
+
+    @Test
+    void testReleaseSeats_ClearsOnlyTheirBits() {
+        store.releaseSeats("F1", List.of("A1", "L5", "Z9"));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(SeatMap.class));
+
+        Document bits = bitOps(update.getValue());
+        assertEquals(~1L, bits.get("bookedBits.0", Document.class).get("and"));
+        assertEquals(~(1L << 6), bits.get("bookedBits.1", Document.class).get("and"));
+    }
+
+    @Test
+    void testReleaseSeats_OnlyUnknownSeatsIsANoOp() {
+        store.releaseSeats("F1", List.of("Z9"));
+
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(SeatMap.class));
+    }
+
+    @Test
+    void testLayoutCache_LayoutIsReadOncePerFlight() {
+        updateModifies(1);
+
+        store.lockSeats("F1", List.of("A1"));
+        store.lockSeats("F1", List.of("A2"));
+        store.releaseSeats("F1", List.of("A1"));
+
+        verify(seatMapRepository, times(1)).findLayoutByFlightId("F1");
+    }
+
+    @Test
+    void testLayoutCache_SeededFlightsNeedNoLayoutRead() {
+        BulkOperations bulk = mock(BulkOperations.class, RETURNS_SELF);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SeatMap.class)).thenReturn(bulk);
+        updateModifies(1);
+
+        Flight flight = new Flight();
+        flight.setId("F2");
+        flight.setCapacity(60);
+        store.seedSeats(List.of(flight));
+        store.lockSeats("F2", List.of("A1"));
+
+        verify(seatMapRepository, never()).findLayoutByFlightId("F2");
+    }
+}
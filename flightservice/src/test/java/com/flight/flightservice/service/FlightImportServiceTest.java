@@ -0,0 +1,106 @@
+package com.flight.flightservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.flightservice.dto.FlightImportReport;
+import com.flight.flightservice.model.Flight;
+import com.flight.flightservice.repo.FlightRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class FlightImportServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulkOperations;
+    private SeatSeederService seatSeederService;
+    private FlightImportService service;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulkOperations = mock(BulkOperations.class);
+        seatSeederService = mock(SeatSeederService.class);
+
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Flight.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        service = new FlightImportService(
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                mongoTemplate,
+                new FlightSearchIndex(mock(FlightRepository.class)),
+                seatSeederService
+        );
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+    }
+
+    @Test
+    void testImport_WritesBoundedBatchesAndReportsBadRecords() throws Exception {
+        String json = "["
+                + flight("AI-101", "DEL", "BOM") + ","
+                + "{\"flightNumber\": \"X\"},"
+                + flight("SG-203", "BLR", "DEL") + ","
+                + "{\"availableSeats\": \"many\"},"
+                + flight("6E-300", "GOI", "GOI") + ","
+                + flight("UK-811", "BOM", "CCU")
+                + "]";
+
+        FlightImportReport report = service.importFlights(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(6, report.getReceived());
+        assertEquals(3, report.getImported());
+        assertEquals(3, report.getFailed());
+        assertEquals(List.of(2L, 4L, 5L),
+                report.getErrors().stream().map(FlightImportReport.RecordError::getRecord).toList());
+
+        // two full-size batches: [AI-101, SG-203] and [UK-811]
+        verify(bulkOperations, times(2)).execute();
+        verify(seatSeederService, times(2)).seedSeatsAsync(anyList());
+    }
+
+    @Test
+    void testImport_MalformedJsonKeepsEarlierBatches() throws Exception {
+        String json = "["
+                + flight("AI-101", "DEL", "BOM") + ","
+                + flight("SG-203", "BLR", "DEL") + ","
+                + flight("UK-811", "BOM", "CCU") + ","
+                + "{\"flightNumber\": ";
+
+        FlightImportReport report = service.importFlights(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(report.isAborted());
+        assertEquals(3, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(4L, report.getErrors().get(0).getRecord());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+
+        // the full batch went in while parsing, the remainder after the error
+        verify(bulkOperations, times(2)).execute();
+    }
+
+    @Test
+    void testImport_RejectsNonArrayPayload() {
+        assertThrows(IllegalArgumentException.class, () -> service.importFlights(
+                new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static String flight(String number, String source, String destination) {
+        return "{\"flightNumber\": \"" + number + "\", \"airline\": \"Air\", "
+                + "\"source\": \"" + source + "\", \"destination\": \"" + destination + "\", "
+                + "\"date\": \"2025-01-10\", \"availableSeats\": 60}";
+    }
+}
@@ -0,0 +1,79 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.model.Flight;
+import com.flight.flightservice.repo.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FlightSearchIndexTest {
+
+    private FlightRepository repository;
+    private FlightSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(FlightRepository.class);
+        index = new FlightSearchIndex(repository);
+    }
+
+    private static Flight flight(String id, String destination, int seats) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setSource("DEL");
+        flight.setDestination(destination);
+        flight.setDate("2025-01-10");
+        flight.setAvailableSeats(seats);
+        return flight;
+    }
+
+
+    @Test
+    void testRebuild_KeepsWritesMadeDuringTheScan() {
+        Flight added = flight("2", "BOM", 60);
+
+        // The scan snapshot predates both writes: flight 1 is deleted and flight 2
+        // created while findAll() is still running.
+        when(repository.findAll()).thenAnswer(invocation -> {
+            index.remove("1");
+            index.put(added);
+            return List.of(flight("1", "BOM", 60));
+        });
+        when(repository.findAllById(Set.of("1", "2"))).thenReturn(List.of(added));
+
+        index.rebuild();
+
+        List<Flight> result = index.search("DEL", "BOM", "2025-01-10");
+        assertEquals(List.of("2"), result.stream().map(Flight::getId).toList());
+    }
+
+    @Test
+    void testRebuild_SeatCountsFromMongoAfterConcurrentBooking() {
+        when(repository.findAll()).thenAnswer(invocation -> {
+            index.adjustAvailableSeats("1", -2);
+            return List.of(flight("1", "BOM", 60));
+        });
+        when(repository.findAllById(Set.of("1"))).thenReturn(List.of(flight("1", "BOM", 58)));
+
+        index.rebuild();
+
+        assertEquals(58, index.search("DEL", "BOM", "2025-01-10").get(0).getAvailableSeats());
+    }
+
+    @Test
+    void testRebuild_NoConcurrentWritesSkipsReload() {
+        when(repository.findAll()).thenReturn(List.of(flight("1", "BOM", 60)));
+
+        index.rebuild();
+        index.put(flight("2", "BOM", 60));
+
+        assertEquals(2, index.search("DEL", "BOM", "2025-01-10").size());
+        verify(repository, never()).findAllById(any());
+    }
+}
@@ -1,13 +1,26 @@
 package com.flight.flightservice.service;
 
+import com.flight.flightservice.dto.CursorPage;
 import com.flight.flightservice.exception.FlightNotFoundException;
 import com.flight.flightservice.model.Flight;
+import com.flight.flightservice.producer.FlightEventProducer;
 import com.flight.flightservice.repo.FlightRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -15,12 +28,19 @@ import static org.mockito.Mockito.*;
 class FlightServiceTest {
 
     private FlightRepository repository;
+    private FlightSearchIndex searchIndex;
+    private SeatSeederService seatSeederService;
     private FlightService service;
 
     @BeforeEach
     void setup() {
         repository = mock(FlightRepository.class);
-        service = new FlightService(repository);
+        searchIndex = new FlightSearchIndex(repository);
+        seatSeederService = mock(SeatSeederService.class);
+        service = new FlightService(repository,
+                new FlightCache(new SimpleMeterRegistry(), 100, 60),
+                searchIndex, seatSeederService, mock(FlightImportService.class),
+                mock(FlightEventProducer.class));
     }
 
     @Test
@@ -35,6 +55,21 @@ class FlightServiceTest {
 
         assertEquals("Mumbai", result.getDestination());
         verify(repository, times(1)).save(flight);
+        verify(seatSeederService).seedSeatsAsync(List.of(flight));
+    }
+
+    @Test
+    void testAddFlight_CapacityDefaultsToAvailableSeats() {
+        Flight flight = new Flight();
+        flight.setSource("Delhi");
+        flight.setDestination("Mumbai");
+        flight.setAvailableSeats(180);
+
+        when(repository.save(any())).thenReturn(flight);
+
+        service.addFlight(flight);
+
+        assertEquals(180, flight.getCapacity());
     }
 
     @Test
@@ -71,42 +106,195 @@ class FlightServiceTest {
     }
 
     @Test
-    void testReduceSeatsSuccess() {
+    void testGetFlight_ServedFromCacheUntilSeatsChange() {
         Flight flight = new Flight();
-        flight.setAvailableSeats(50);
+        flight.setId("123");
+        when(repository.findById("123")).thenReturn(Optional.of(flight));
+        when(repository.decrementAvailableSeats("123", 1)).thenReturn(true);
+
+        service.getFlight("123");
+        service.getFlight("123");
+        verify(repository, times(1)).findById("123");
+
+        service.reduceSeats("123", 1);
+        service.getFlight("123");
+        verify(repository, times(2)).findById("123");
+    }
 
-        when(repository.findById("1")).thenReturn(Optional.of(flight));
+    @Test
+    void testReduceSeatsSuccess() {
+        when(repository.incrementAvailableSeatsIfAtLeast("1", 10, -10)).thenReturn(1L);
+        when(repository.decrementAvailableSeats("1", 10)).thenCallRealMethod();
 
         boolean result = service.reduceSeats("1", 10);
 
         assertTrue(result);
-        assertEquals(40, flight.getAvailableSeats());
-        verify(repository).save(flight);
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any());
     }
 
     @Test
     void testReduceSeatsFailure() {
-        Flight flight = new Flight();
-        flight.setAvailableSeats(5);
-
-        when(repository.findById("1")).thenReturn(Optional.of(flight));
+        when(repository.incrementAvailableSeatsIfAtLeast("1", 10, -10)).thenReturn(0L);
+        when(repository.decrementAvailableSeats("1", 10)).thenCallRealMethod();
+        when(repository.existsById("1")).thenReturn(true);
 
         boolean result = service.reduceSeats("1", 10);
 
         assertFalse(result);
-        verify(repository, never()).save(flight);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testReduceSeatsFlightNotFound() {
+        when(repository.decrementAvailableSeats("404", 1)).thenCallRealMethod();
+        when(repository.existsById("404")).thenReturn(false);
+
+        assertThrows(FlightNotFoundException.class, () -> service.reduceSeats("404", 1));
     }
 
     @Test
     void testIncreaseSeats() {
+        when(repository.incrementAvailableSeats("55", 5)).thenReturn(1L);
+
+        service.increaseSeats("55", 5);
+
+        verify(repository).incrementAvailableSeats("55", 5);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testReduceSeats_ConcurrentReductionsNeverOversell() throws Exception {
+        int capacity = 1_000;
+        int attempts = 5_000;
+        AtomicInteger seatsLeft = new AtomicInteger(capacity);
+
+        // Stand-in for Mongo's conditional $inc: compare-and-set on the stored count.
+        when(repository.incrementAvailableSeatsIfAtLeast(eq("hot"), anyInt(), anyInt()))
+                .thenAnswer(inv -> {
+                    int required = inv.getArgument(1);
+                    int delta = inv.getArgument(2);
+                    while (true) {
+                        int current = seatsLeft.get();
+                        if (current < required) {
+                            return 0L;
+                        }
+                        if (seatsLeft.compareAndSet(current, current + delta)) {
+                            return 1L;
+                        }
+                    }
+                });
+        when(repository.decrementAvailableSeats(eq("hot"), anyInt())).thenCallRealMethod();
+        when(repository.existsById("hot")).thenReturn(true);
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < attempts; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return service.reduceSeats("hot", 1);
+            }));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                succeeded++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(capacity, succeeded);
+        assertEquals(0, seatsLeft.get());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testSearchFlights_BeforeWarmUp_QueriesMongo() {
+        when(repository.findBySourceAndDestinationAndDate("DEL", "BOM", "2025-01-10"))
+                .thenReturn(List.of(flight("1", "DEL", "BOM", "2025-01-10")));
+
+        List<Flight> result = service.searchFlights("DEL", "BOM", "2025-01-10");
+
+        assertEquals(1, result.size());
+        verify(repository).findBySourceAndDestinationAndDate("DEL", "BOM", "2025-01-10");
+    }
+
+    @Test
+    void testSearchFlights_ServedFromIndexAfterWarmUp() {
+        when(repository.findAll()).thenReturn(List.of(
+                flight("1", "DEL", "BOM", "2025-01-10"),
+                flight("2", "DEL", "BOM", "2025-01-10"),
+                flight("3", "BLR", "DEL", "2025-01-12")
+        ));
+        searchIndex.rebuild();
+
+        List<Flight> result = service.searchFlights("DEL", "BOM", "2025-01-10");
+
+        assertEquals(2, result.size());
+        verify(repository, never()).findBySourceAndDestinationAndDate(any(), any(), any());
+    }
+
+    @Test
+    void testSearchIndex_FollowsUpdateAndDelete() {
+        Flight existing = flight("1", "DEL", "BOM", "2025-01-10");
+        when(repository.findAll()).thenReturn(List.of(existing));
+        when(repository.findById("1")).thenReturn(Optional.of(existing));
+        searchIndex.rebuild();
+
+        service.updateFlight("1", flight(null, "DEL", "GOI", "2025-01-10"));
+
+        assertTrue(service.searchFlights("DEL", "BOM", "2025-01-10").isEmpty());
+        assertEquals(1, service.searchFlights("DEL", "GOI", "2025-01-10").size());
+
+        service.deleteFlight("1");
+
+        assertTrue(service.searchFlights("DEL", "GOI", "2025-01-10").isEmpty());
+    }
+
+    private Flight flight(String id, String source, String destination, String date) {
         Flight flight = new Flight();
-        flight.setAvailableSeats(20);
+        flight.setId(id);
+        flight.setSource(source);
+        flight.setDestination(destination);
+        flight.setDate(date);
+        flight.setAvailableSeats(50);
+        return flight;
+    }
 
-        when(repository.findById("55")).thenReturn(Optional.of(flight));
+    @Test
+    void testGetFlightsPage_KeysetCursor() {
+        when(repository.findAllBy(any(Pageable.class))).thenReturn(List.of(flight("a"), flight("b")));
+        when(repository.findByIdGreaterThan(eq("b"), any(Pageable.class))).thenReturn(List.of(flight("c")));
 
-        service.increaseSeats("55", 5);
+        CursorPage<Flight> first = service.getFlightsPage(null, 2);
+        assertEquals("b", first.getNextCursor());
 
-        assertEquals(25, flight.getAvailableSeats());
-        verify(repository).save(flight);
+        CursorPage<Flight> last = service.getFlightsPage(first.getNextCursor(), 2);
+        assertEquals(List.of("c"), last.getItems().stream().map(Flight::getId).toList());
+        assertNull(last.getNextCursor());
+
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository).findByIdGreaterThan(eq("b"), page.capture());
+        assertEquals(2, page.getValue().getPageSize());
+        assertEquals(Sort.by("id"), page.getValue().getSort());
+    }
+
+    @Test
+    void testGetFlightsPage_SizeIsClamped() {
+        service.getFlightsPage(null, 50_000);
+
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository).findAllBy(page.capture());
+        assertEquals(1000, page.getValue().getPageSize());
+    }
+
+    private static Flight flight(String id) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        return flight;
     }
 }
@@ -0,0 +1,65 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.exception.SeatUnavailableException;
+import com.flight.flightservice.model.Seat;
+import com.flight.flightservice.repo.SeatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeatLockServiceTest {
+
+    private SeatRepository seatRepository;
+    private SeatLockService service;
+
+    @BeforeEach
+    void setup() {
+        seatRepository = mock(SeatRepository.class);
+        service = new SeatLockService(seatRepository);
+    }
+
+    @Test
+    void testLockSeats_AllClaimedInOneUpdate() {
+        when(seatRepository.lockSeats(eq("F1"), eq(List.of("A1", "A2")), anyString()))
+                .thenReturn(2L);
+
+        service.lockSeats("F1", List.of("A1", "A2"));
+
+        verify(seatRepository, times(1)).lockSeats(eq("F1"), eq(List.of("A1", "A2")), anyString());
+        verify(seatRepository, never()).findClaimedSeats(any(), any());
+        verify(seatRepository, never()).releaseClaim(any(), any());
+    }
+
+    @Test
+    void testLockSeats_PartialClaimRolledBackWithConflicts() {
+        Seat claimed = new Seat();
+        claimed.setSeatNumber("A1");
+
+        when(seatRepository.lockSeats(eq("F1"), eq(List.of("A1", "A2", "Z9")), anyString()))
+                .thenReturn(1L);
+        when(seatRepository.findClaimedSeats(eq("F1"), anyString()))
+                .thenReturn(List.of(claimed));
+
+        SeatUnavailableException ex = assertThrows(SeatUnavailableException.class,
+                () -> service.lockSeats("F1", List.of("A1", "A2", "Z9")));
+
+        assertEquals(List.of("A2", "Z9"), ex.getSeats());
+        verify(seatRepository).releaseClaim(eq("F1"), anyString());
+    }
+
+    @Test
+    void testLockSeats_NothingClaimed_NoRollbackNeeded() {
+        when(seatRepository.lockSeats(eq("F1"), eq(List.of("A1")), anyString()))
+                .thenReturn(0L);
+
+        SeatUnavailableException ex = assertThrows(SeatUnavailableException.class,
+                () -> service.lockSeats("F1", List.of("A1")));
+
+        assertEquals(List.of("A1"), ex.getSeats());
+        verify(seatRepository, never()).releaseClaim(any(), any());
+    }
+}
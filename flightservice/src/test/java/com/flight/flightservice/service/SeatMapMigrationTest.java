@@ -0,0 +1,52 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.model.Seat;
+import com.flight.flightservice.model.SeatLayout;
+import com.flight.flightservice.model.SeatMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatMapMigrationTest {
+
+    @Test
+    void testToSeatMap_CarriesBookedSeatsIntoBits() {
+        List<Seat> seats = new ArrayList<>();
+        for (String number : List.of("A1", "A2", "A3", "A4", "A5", "A6", "B1", "B2")) {
+            Seat seat = new Seat();
+            seat.setFlightId("F1");
+            seat.setSeatNumber(number);
+            seat.setBooked(number.equals("A2") || number.equals("B2"));
+            seats.add(seat);
+        }
+
+        SeatMap map = SeatMapMigration.toSeatMap("F1", seats);
+
+        assertEquals(8, map.getLayout().getTotalSeats());
+        assertEquals(1, map.getBookedBits().length);
+        assertTrue(map.isBooked(map.getLayout().indexOf("A2")));
+        assertTrue(map.isBooked(map.getLayout().indexOf("B2")));
+        assertFalse(map.isBooked(map.getLayout().indexOf("A1")));
+        assertEquals("B2", map.getLayout().seatNumber(7));
+    }
+
+    @Test
+    void testToSeatMap_SpansMultipleWords() {
+        List<Seat> seats = new ArrayList<>();
+        for (int i = 0; i < 180; i++) {
+            Seat seat = new Seat();
+            seat.setSeatNumber(SeatLayout.forSeats(180).seatNumber(i));
+            seat.setBooked(i == 179);
+            seats.add(seat);
+        }
+
+        SeatMap map = SeatMapMigration.toSeatMap("F1", seats);
+
+        assertEquals(3, map.getBookedBits().length);
+        assertTrue(map.isBooked(179));
+        assertFalse(map.isBooked(178));
+    }
+}
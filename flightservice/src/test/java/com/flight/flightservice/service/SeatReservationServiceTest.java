@@ -0,0 +1,65 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.exception.SeatUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SeatReservationServiceTest {
+
+    private SeatMapStore seatMapStore;
+    private FlightService flightService;
+    private SeatReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        seatMapStore = mock(SeatMapStore.class);
+        flightService = mock(FlightService.class);
+        reservationService = new SeatReservationService(seatMapStore, flightService);
+    }
+
+    @Test
+    void testReserveSeats_LocksAndReducesInOneCall() {
+        when(flightService.reduceSeats("F1", 2)).thenReturn(true);
+
+        assertTrue(reservationService.reserveSeats("F1", List.of("1A", "1B")));
+
+        verify(seatMapStore).lockSeats("F1", List.of("1A", "1B"));
+        verify(flightService).reduceSeats("F1", 2);
+        verify(seatMapStore, never()).releaseSeats(anyString(), anyList());
+    }
+
+    @Test
+    void testReserveSeats_ReleasesLockWhenCountCannotBeReduced() {
+        when(flightService.reduceSeats("F1", 1)).thenReturn(false);
+
+        assertFalse(reservationService.reserveSeats("F1", List.of("1A")));
+
+        verify(seatMapStore).releaseSeats("F1", List.of("1A"));
+    }
+
+    @Test
+    void testReserveSeats_ConflictLeavesSeatCountUntouched() {
+        doThrow(new SeatUnavailableException("F1", Set.of("1A")))
+                .when(seatMapStore).lockSeats("F1", List.of("1A"));
+
+        assertThrows(SeatUnavailableException.class,
+                () -> reservationService.reserveSeats("F1", List.of("1A")));
+
+        verify(flightService, never()).reduceSeats(anyString(), anyInt());
+    }
+
+    @Test
+    void testReserveSeats_RejectsDuplicateSeats() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reservationService.reserveSeats("F1", List.of("1A", "1A")));
+
+        verifyNoInteractions(seatMapStore, flightService);
+    }
+}
@@ -0,0 +1,106 @@
+package com.flight.flightservice.service;
+
+import com.flight.flightservice.model.Flight;
+import com.flight.flightservice.model.Seat;
+import com.flight.flightservice.repo.FlightRepository;
+import com.flight.flightservice.repo.SeatRepository;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SeatSeederServiceTest {
+
+    private SeatMapStore seatMapStore;
+    private FlightRepository flightRepository;
+    private JobLockService jobLocks;
+    private SeatSeederService seeder;
+
+    @BeforeEach
+    void setUp() {
+        seatMapStore = mock(SeatMapStore.class);
+        flightRepository = mock(FlightRepository.class);
+        jobLocks = mock(JobLockService.class);
+        seeder = new SeatSeederService(seatMapStore, flightRepository, jobLocks);
+        ReflectionTestUtils.setField(seeder, "backfillOnStartup", true);
+    }
+
+    private static Flight flight(String id) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setCapacity(6);
+        return flight;
+    }
+
+
+    @Test
+    void testBackfill_SkippedWhileAnotherInstanceHoldsTheLock() {
+        when(jobLocks.tryLock(eq("seat-backfill"), any(Duration.class))).thenReturn(false);
+
+        seeder.backfillMissingSeats();
+
+        verifyNoInteractions(seatMapStore, flightRepository);
+        verify(jobLocks, never()).unlock(any());
+    }
+
+    @Test
+    void testBackfill_SeedsOnlyUnseededFlightsAndUnlocks() {
+        when(jobLocks.tryLock(eq("seat-backfill"), any(Duration.class))).thenReturn(true);
+        when(seatMapStore.seededFlightIds()).thenReturn(Set.of("F1"));
+        when(flightRepository.findAll()).thenReturn(List.of(flight("F1"), flight("F2")));
+
+        seeder.backfillMissingSeats();
+
+        verify(seatMapStore).seedSeats(argThat(flights ->
+                flights.size() == 1 && flights.iterator().next().getId().equals("F2")));
+        verify(jobLocks).unlock("seat-backfill");
+    }
+
+    @Test
+    void testDocumentSeed_IgnoresSeatsThatAlreadyExist() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Seat.class)).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenReturn(bulk);
+
+        BulkOperationException duplicates = mock(BulkOperationException.class);
+        when(duplicates.getErrors()).thenReturn(
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0)));
+        when(bulk.execute()).thenThrow(duplicates);
+
+        DocumentSeatMapStore store = new DocumentSeatMapStore(
+                mock(SeatRepository.class), mock(SeatLockService.class), mongoTemplate);
+
+        assertDoesNotThrow(() -> store.seedSeats(List.of(flight("F1"))));
+    }
+
+    @Test
+    void testDocumentSeed_OtherWriteErrorsPropagate() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Seat.class)).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenReturn(bulk);
+
+        BulkOperationException failure = mock(BulkOperationException.class);
+        when(failure.getErrors()).thenReturn(
+                List.of(new BulkWriteError(121, "validation failed", new BsonDocument(), 0)));
+        when(bulk.execute()).thenThrow(failure);
+
+        DocumentSeatMapStore store = new DocumentSeatMapStore(
+                mock(SeatRepository.class), mock(SeatLockService.class), mongoTemplate);
+
+        assertThrows(BulkOperationException.class, () -> store.seedSeats(List.of(flight("F1"))));
+    }
+}
@@ -15,16 +15,16 @@ start cmd /k "cd server && java -jar target\server-0.0.1-SNAPSHOT.jar --spring.p
 timeout /t 15
 
 echo Starting Auth Service...
-start cmd /k "cd auth-service && java -jar target\auth-service-0.0.1-SNAPSHOT.jar --spring.profiles.active=%PROFILE%"
+start cmd /k "cd auth-service && java -jar target\auth-service-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=%PROFILE%"
 
 echo Starting Flight Service...
-start cmd /k "cd flightservice && java -jar target\flightservice-0.0.1-SNAPSHOT.jar --spring.profiles.active=%PROFILE%"
+start cmd /k "cd flightservice && java -jar target\flightservice-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=%PROFILE%"
 
 echo Starting Booking Service...
-start cmd /k "cd bookingservice && java -jar target\bookingservice-0.0.1-SNAPSHOT.jar --spring.profiles.active=%PROFILE%"
+start cmd /k "cd bookingservice && java -jar target\bookingservice-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=%PROFILE%"
 
 echo Starting API Gateway...
-start cmd /k "cd api-gateway && java -jar target\api-gateway-0.0.1-SNAPSHOT.jar --spring.profiles.active=%PROFILE%"
+start cmd /k "cd api-gateway && java -jar target\api-gateway-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=%PROFILE%"
 
 echo.
 echo All services triggered.
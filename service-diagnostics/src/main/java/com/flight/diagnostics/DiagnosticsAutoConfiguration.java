@@ -0,0 +1,41 @@
+package com.flight.diagnostics;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Diagnostics shared by the MVC services; picked up by adding service-diagnostics
+ * as a dependency.
+ */
+@AutoConfiguration(after = MongoDataAutoConfiguration.class)
+public class DiagnosticsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${diagnostics.virtual-threads.pinning-threshold-ms:20}") long thresholdMs) {
+        return new VirtualThreadPinningMonitor(thresholdMs);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MongoTemplate.class)
+    static class MongoDiagnostics {
+
+        @Bean
+        @ConditionalOnBean(MongoTemplate.class)
+        public IndexCoverageReport indexCoverageReport(
+                ListableBeanFactory beanFactory,
+                MongoTemplate mongoTemplate) {
+            return new IndexCoverageReport(beanFactory, mongoTemplate);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.flight.diagnostics;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * Logs, once the indexes have been created, every repository query whose filter
+ * fields do not include the leading key of any index on its collection, i.e.
+ * queries that will scan the whole collection. Registered by
+ * {@link DiagnosticsAutoConfiguration} in services that use Spring Data MongoDB.
+ */
+public class IndexCoverageReport {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexCoverageReport.class);
+
+    private final ListableBeanFactory beanFactory;
+    private final MongoTemplate mongoTemplate;
+
+    public IndexCoverageReport(ListableBeanFactory beanFactory, MongoTemplate mongoTemplate) {
+        this.beanFactory = beanFactory;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int checked = 0;
+        int uncovered = 0;
+
+        for (RepositoryFactoryInformation<?, ?> factory
+                : beanFactory.getBeansOfType(RepositoryFactoryInformation.class, false, false).values()) {
+
+            RepositoryInformation info = factory.getRepositoryInformation();
+            Class<?> domainType = info.getDomainType();
+            String collection = mongoTemplate.getCollectionName(domainType);
+
+            Set<String> leadingKeys = new HashSet<>();
+            leadingKeys.add("_id");
+            try {
+                for (IndexInfo index : mongoTemplate.indexOps(collection).getIndexInfo()) {
+                    List<IndexField> fields = index.getIndexFields();
+                    if (!fields.isEmpty()) {
+                        leadingKeys.add(fields.get(0).getKey());
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Index report skipped for {}: {}", collection, e.getMessage());
+                continue;
+            }
+
+            for (Method method : info.getQueryMethods()) {
+                Set<String> filterFields = filterFields(method, domainType);
+                if (filterFields.isEmpty()) {
+                    continue; // full reads by design (findAllBy, streamAllBy)
+                }
+                checked++;
+                if (Collections.disjoint(filterFields, leadingKeys)) {
+                    uncovered++;
+                    log.warn("Unindexed query {}.{} on '{}' filters on {}; no index starts with any of them",
+                            info.getRepositoryInterface().getSimpleName(), method.getName(),
+                            collection, filterFields);
+                }
+            }
+        }
+
+        log.info("Index coverage: {} repository queries checked, {} not covered by an index",
+                checked, uncovered);
+    }
+
+    static Set<String> filterFields(Method method, Class<?> domainType) {
+        Set<String> fields = new LinkedHashSet<>();
+
+        Query query = method.getAnnotation(Query.class);
+        if (query != null && !query.value().isEmpty()) {
+            // Placeholders (?0) are not valid JSON; the values do not matter here.
+            Document filter = Document.parse(query.value().replaceAll("\\?\\d+", "null"));
+            for (String key : filter.keySet()) {
+                if (!key.startsWith("$")) {
+                    fields.add(key);
+                }
+            }
+            return fields;
+        }
+
+        try {
+            for (Part part : new PartTree(method.getName(), domainType).getParts()) {
+                String path = part.getProperty().toDotPath();
+                fields.add("id".equals(path) ? "_id" : path);
+            }
+        } catch (RuntimeException e) {
+            log.debug("Could not derive query fields of {}: {}", method.getName(), e.getMessage());
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,85 @@
+package com.flight.diagnostics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event in-process and logs where a
+ * virtual thread blocked while pinned to its carrier (typically inside a
+ * {@code synchronized} block or a native frame). Registered by
+ * {@link DiagnosticsAutoConfiguration} when the service runs on virtual threads.
+ */
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 12;
+
+    private final AtomicLong pinnedEvents = new AtomicLong();
+
+    private final long thresholdMs;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(long thresholdMs) {
+        this.thresholdMs = thresholdMs;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", thresholdMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public long pinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    private void report(RecordedEvent event) {
+        long count = pinnedEvents.incrementAndGet();
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String frames = stackTrace == null
+                ? "<no stack trace>"
+                : stackTrace.getFrames().stream()
+                        .limit(MAX_FRAMES)
+                        .map(VirtualThreadPinningMonitor::frame)
+                        .collect(Collectors.joining("\n\tat "));
+
+        log.warn("Virtual thread pinned for {} ms on {} (#{}):\n\tat {}",
+                event.getDuration().toMillis(),
+                event.getThread() == null ? "?" : event.getThread().getJavaName(),
+                count,
+                frames);
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName()
+                + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
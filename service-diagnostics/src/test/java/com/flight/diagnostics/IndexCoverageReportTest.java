@@ -0,0 +1,58 @@
+package com.flight.diagnostics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexCoverageReportTest {
+
+    static class Booking {
+        String id;
+        String pnr;
+        String flightId;
+        String email;
+        String password;
+    }
+
+    interface SampleRepository {
+        Optional<Booking> findByFlightIdAndEmail(String flightId, String email);
+
+        Optional<Booking> findByPnr(String pnr);
+
+        @Query("{ '_id': ?0, 'password': ?1 }")
+        Optional<Booking> findCredentials(String id, String password);
+
+        List<Booking> findAllBy();
+    }
+
+    private static Set<String> fields(String method) {
+        for (var m : SampleRepository.class.getMethods()) {
+            if (m.getName().equals(method)) {
+                return IndexCoverageReport.filterFields(m, Booking.class);
+            }
+        }
+        throw new IllegalArgumentException(method);
+    }
+
+
+    @Test
+    void testFilterFields_DerivedQuery() {
+        assertEquals(Set.of("flightId", "email"), fields("findByFlightIdAndEmail"));
+        assertEquals(Set.of("pnr"), fields("findByPnr"));
+    }
+
+    @Test
+    void testFilterFields_QueryAnnotation() {
+        assertEquals(Set.of("_id", "password"), fields("findCredentials"));
+    }
+
+    @Test
+    void testFilterFields_FullReadHasNone() {
+        assertTrue(fields("findAllBy").isEmpty());
+    }
+}